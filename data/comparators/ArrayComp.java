@@ -1,54 +1,213 @@
 package data.comparators;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 /**
  * The ArrayComp class is used for comparing generic arrays of basic data
  * objects that model the primitive types.
  *
+ * Arrays are compared lexicographically: the first position at which the
+ * elements differ decides the order, and an array that is a prefix of the
+ * other is the smaller one, so an empty array is smaller than any other.
+ *
  * To compare collection objects that can be converted to arrays, use:
  *
- *      ArrayComp.compare((T[]) a.toArray(), (T[]) b.toArray())
+ *      new ArrayComp<T>().compare((T[]) a.toArray(), (T[]) b.toArray())
+ *
+ * The static compare() methods compare arrays of the primitive types in
+ * the same order, and the mismatch() methods compare int and byte arrays
+ * through Arrays.mismatch(), which scans many elements per step and is
+ * faster on long arrays with long common prefixes:
+ *
+ *      Comparator<int[]> comp = ArrayComp::compare;
  *
  * @param <T>   The type of data objects in the arrays to compare.
  */
 public class ArrayComp<T> implements Comparator<T[]>
 {
+    private final Comparator<? super T> comp;   // the element comparator
+
+    /**
+     * The constructor for an array comparator that compares the elements
+     * with a generic comparator for the basic data object type.
+     */
+    public ArrayComp()
+    {
+        this.comp = new TComp<T>();
+    }
+
+    /**
+     * The constructor for an array comparator that compares the elements
+     * with a comparator.
+     *
+     * @param comp  The comparator of the array elements.
+     */
+    public ArrayComp(Comparator<? super T> comp)
+    {
+        this.comp = comp;
+    }
+
     /**
      * This method implements the compare() method of the Comparator
-     * interface by calling the compareTo() method of the corresponding
-     * comparator class for the basic data object type, T, for the
-     * arrays of T-typed objects.
+     * interface by comparing the T-typed elements of the arrays in order,
+     * up to the first elements that differ.
      *
      * @param a The left-hand side comprable array.
      * @param b The right-hand side comprable array.
-     * @return  The compare value (-1, 1, or 0).
+     * @return  The compare value (negative, positive, or 0).
      */
     public int compare(T[] a, T[] b)
     {
-        // compare a and b based on length
-        if (a.length < b.length)
-            return 1;
-        else if (a.length > b.length)
-            return -1;
+        int n = Math.min(a.length, b.length);
+        for (int i=0; i<n; i++)
+        {
+            int c = comp.compare(a[i], b[i]);
+            if (c != 0)
+                return c;
+        }
+        return Integer.compare(a.length, b.length);
+    }
 
-        // create a new generic comparator
-        TComp<T> comp = new TComp<>();
+    /**
+     * This method compares the int arrays lexicographically.
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int compare(int[] a, int[] b)
+    {
+        int n = Math.min(a.length, b.length);
+        for (int i=0; i<n; i++)
+        {
+            if (a[i] != b[i])
+                return Integer.compare(a[i], b[i]);
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * This method compares the long arrays lexicographically.
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int compare(long[] a, long[] b)
+    {
+        int n = Math.min(a.length, b.length);
+        for (int i=0; i<n; i++)
+        {
+            if (a[i] != b[i])
+                return Long.compare(a[i], b[i]);
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * This method compares the double arrays lexicographically, ordering
+     * the elements as Double.compare() does (-0.0 before 0.0, NaN last).
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int compare(double[] a, double[] b)
+    {
+        int n = Math.min(a.length, b.length);
+        for (int i=0; i<n; i++)
+        {
+            int c = Double.compare(a[i], b[i]);
+            if (c != 0)
+                return c;
+        }
+        return Integer.compare(a.length, b.length);
+    }
 
-        // verify a and b type names match
-        if (comp.compareType(a[0], b[0]) != 1)
-            return 0;
+    /**
+     * This method compares the byte arrays lexicographically, with the
+     * bytes signed.
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int compare(byte[] a, byte[] b)
+    {
+        int n = Math.min(a.length, b.length);
+        for (int i=0; i<n; i++)
+        {
+            if (a[i] != b[i])
+                return Byte.compare(a[i], b[i]);
+        }
+        return Integer.compare(a.length, b.length);
+    }
 
-        // compare the arrays (element-by-element)
-        int j = 0;
-        int k1 = 0;
-        int k2 = 0;
-        while (j < a.length)
+    /**
+     * This method compares the byte arrays lexicographically, with the
+     * bytes unsigned (as memcmp() does).
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int compareUnsigned(byte[] a, byte[] b)
+    {
+        int n = Math.min(a.length, b.length);
+        for (int i=0; i<n; i++)
         {
-            k1 += comp.compare(a[j], b[j]);
-            k2 += comp.compare(b[j], a[j]);
-            j++;
+            if (a[i] != b[i])
+                return Byte.toUnsignedInt(a[i]) - Byte.toUnsignedInt(b[i]);
         }
-        return Integer.compare(k1, k2);
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * This method compares the int arrays lexicographically by finding the
+     * first mismatch with Arrays.mismatch().
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int mismatch(int[] a, int[] b)
+    {
+        int i = Arrays.mismatch(a, b);
+        if ((i >= 0) && (i < Math.min(a.length, b.length)))
+            return Integer.compare(a[i], b[i]);
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * This method compares the byte arrays lexicographically, with the
+     * bytes signed, by finding the first mismatch with Arrays.mismatch().
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int mismatch(byte[] a, byte[] b)
+    {
+        int i = Arrays.mismatch(a, b);
+        if ((i >= 0) && (i < Math.min(a.length, b.length)))
+            return Byte.compare(a[i], b[i]);
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * This method compares the byte arrays lexicographically, with the
+     * bytes unsigned, by finding the first mismatch with Arrays.mismatch().
+     *
+     * @param a The left-hand side array.
+     * @param b The right-hand side array.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    public static int mismatchUnsigned(byte[] a, byte[] b)
+    {
+        int i = Arrays.mismatch(a, b);
+        if ((i >= 0) && (i < Math.min(a.length, b.length)))
+            return Byte.toUnsignedInt(a[i]) - Byte.toUnsignedInt(b[i]);
+        return Integer.compare(a.length, b.length);
     }
 }
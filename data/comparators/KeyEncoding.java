@@ -0,0 +1,413 @@
+package data.comparators;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * The KeyEncoding class encodes the basic data objects that TComp compares
+ * (Boolean, Byte, Short, Integer, Long, Float, Double, Character and String)
+ * into order-preserving keys, so they can be sorted and searched without a
+ * comparator:
+ *
+ *  - byte keys, whose unsigned lexicographic order (as compared by
+ *    ArrayComp.compareUnsigned()) is the order of TComp, and
+ *  - long prefixes, whose signed order (as compared by Long.compare() or a
+ *    radix sort) is the order of TComp for every type but String.
+ *
+ * Numbers are written big-endian with the sign bit flipped, and floats and
+ * doubles are first mapped so that their bits order as Float.compare() and
+ * Double.compare() do (-0.0 before 0.0, NaN last). Strings are written as the
+ * bytes of their chars, with each zero byte escaped as 0x00 0x01 and an end
+ * of 0x00 0x00, so no string key is a prefix of another and the keys can be
+ * concatenated into composite keys (see RowComp.key()). Inverting the bytes
+ * of a key reverses its order.
+ *
+ * A string prefix packs the first four chars of the string, so strings with
+ * equal prefixes are ordered by comparing the strings themselves:
+ *
+ *      new QuickSort<>(array, null).sortByLong(KeyEncoding.prefixFor(Integer.class));
+ */
+public final class KeyEncoding
+{
+    /**
+     * The private constructor.
+     */
+    private KeyEncoding()
+    {
+    }
+
+    /**
+     * This method returns the byte key encoder for the basic data object
+     * type, resolved once. An unsupported type is reported here.
+     *
+     * @param type  The class of the data objects to encode.
+     * @param <T>   The type of data object to encode.
+     * @return  The byte key encoder for the type (null if unsupported).
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<T, byte[]> encoderFor(Class<T> type)
+    {
+        Function<?, byte[]> encoder;
+        if (type == Boolean.class)
+            encoder = (Function<Boolean, byte[]>) KeyEncoding::encode;
+        else if (type == Byte.class)
+            encoder = (Function<Byte, byte[]>) KeyEncoding::encode;
+        else if (type == Short.class)
+            encoder = (Function<Short, byte[]>) KeyEncoding::encode;
+        else if (type == Integer.class)
+            encoder = (Function<Integer, byte[]>) KeyEncoding::encode;
+        else if (type == Long.class)
+            encoder = (Function<Long, byte[]>) KeyEncoding::encode;
+        else if (type == Float.class)
+            encoder = (Function<Float, byte[]>) KeyEncoding::encode;
+        else if (type == Double.class)
+            encoder = (Function<Double, byte[]>) KeyEncoding::encode;
+        else if (type == Character.class)
+            encoder = (Function<Character, byte[]>) KeyEncoding::encode;
+        else if (type == String.class)
+            encoder = (Function<String, byte[]>) KeyEncoding::encode;
+        else
+        {
+            System.out.print("ERROR! Unrecognized type name value: ");
+            System.out.print(type.getTypeName() + ".\n");
+            return null;
+        }
+        return (Function<T, byte[]>) encoder;
+    }
+
+    /**
+     * This method returns the long prefix function for the basic data object
+     * type, resolved once. An unsupported type is reported here.
+     *
+     * @param type  The class of the data objects to encode.
+     * @param <T>   The type of data object to encode.
+     * @return  The long prefix function for the type (null if unsupported).
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ToLongFunction<T> prefixFor(Class<T> type)
+    {
+        ToLongFunction<?> prefix;
+        if (type == Boolean.class)
+            prefix = (ToLongFunction<Boolean>) v -> v ? 1 : 0;
+        else if (type == Byte.class)
+            prefix = (ToLongFunction<Byte>) Byte::longValue;
+        else if (type == Short.class)
+            prefix = (ToLongFunction<Short>) Short::longValue;
+        else if (type == Integer.class)
+            prefix = (ToLongFunction<Integer>) Integer::longValue;
+        else if (type == Long.class)
+            prefix = (ToLongFunction<Long>) Long::longValue;
+        else if (type == Float.class)
+            prefix = (ToLongFunction<Float>) KeyEncoding::prefix;
+        else if (type == Double.class)
+            prefix = (ToLongFunction<Double>) KeyEncoding::prefix;
+        else if (type == Character.class)
+            prefix = (ToLongFunction<Character>) v -> v;
+        else if (type == String.class)
+            prefix = (ToLongFunction<String>) KeyEncoding::prefix;
+        else
+        {
+            System.out.print("ERROR! Unrecognized type name value: ");
+            System.out.print(type.getTypeName() + ".\n");
+            return null;
+        }
+        return (ToLongFunction<T>) prefix;
+    }
+
+    /**
+     * This method returns the byte key of the boolean (1 byte).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(boolean value)
+    {
+        return new byte[] {(byte) (value ? 1 : 0)};
+    }
+
+    /**
+     * This method returns the byte key of the byte (1 byte).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(byte value)
+    {
+        return new byte[] {(byte) (value ^ 0x80)};
+    }
+
+    /**
+     * This method returns the byte key of the short (2 bytes).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(short value)
+    {
+        byte[] out = new byte[2];
+        putChar(out, 0, (char) (value ^ 0x8000));
+        return out;
+    }
+
+    /**
+     * This method returns the byte key of the char (2 bytes).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(char value)
+    {
+        byte[] out = new byte[2];
+        putChar(out, 0, value);
+        return out;
+    }
+
+    /**
+     * This method returns the byte key of the int (4 bytes).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(int value)
+    {
+        byte[] out = new byte[4];
+        putInt(out, 0, value);
+        return out;
+    }
+
+    /**
+     * This method returns the byte key of the long (8 bytes).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(long value)
+    {
+        byte[] out = new byte[8];
+        putLong(out, 0, value);
+        return out;
+    }
+
+    /**
+     * This method returns the byte key of the float (4 bytes).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(float value)
+    {
+        byte[] out = new byte[4];
+        putFloat(out, 0, value);
+        return out;
+    }
+
+    /**
+     * This method returns the byte key of the double (8 bytes).
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(double value)
+    {
+        byte[] out = new byte[8];
+        putDouble(out, 0, value);
+        return out;
+    }
+
+    /**
+     * This method returns the byte key of the string.
+     *
+     * @param value The value to encode.
+     * @return  The byte key.
+     */
+    public static byte[] encode(String value)
+    {
+        byte[] out = new byte[length(value)];
+        putString(out, 0, value);
+        return out;
+    }
+
+    /**
+     * This method returns the length of the byte key of the string: two
+     * bytes per char, one more per zero byte, and a two-byte end.
+     *
+     * @param value The value to encode.
+     * @return  The length of the byte key.
+     */
+    public static int length(String value)
+    {
+        int length = 2*value.length() + 2;
+        for (int i=0; i<value.length(); i++)
+        {
+            char c = value.charAt(i);
+            if ((c >>> 8) == 0)
+                length++;
+            if ((c & 0xFF) == 0)
+                length++;
+        }
+        return length;
+    }
+
+    /**
+     * This method writes the byte key of the char at the position.
+     *
+     * @param out   The array to write to.
+     * @param pos   The position to write at.
+     * @param value The value to encode.
+     * @return  The position after the key.
+     */
+    public static int putChar(byte[] out, int pos, char value)
+    {
+        out[pos] = (byte) (value >>> 8);
+        out[pos + 1] = (byte) value;
+        return pos + 2;
+    }
+
+    /**
+     * This method writes the byte key of the int at the position.
+     *
+     * @param out   The array to write to.
+     * @param pos   The position to write at.
+     * @param value The value to encode.
+     * @return  The position after the key.
+     */
+    public static int putInt(byte[] out, int pos, int value)
+    {
+        return putBits(out, pos, value ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * This method writes the byte key of the long at the position.
+     *
+     * @param out   The array to write to.
+     * @param pos   The position to write at.
+     * @param value The value to encode.
+     * @return  The position after the key.
+     */
+    public static int putLong(byte[] out, int pos, long value)
+    {
+        return putBits(out, pos, value ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * This method writes the byte key of the float at the position.
+     *
+     * @param out   The array to write to.
+     * @param pos   The position to write at.
+     * @param value The value to encode.
+     * @return  The position after the key.
+     */
+    public static int putFloat(byte[] out, int pos, float value)
+    {
+        return putBits(out, pos, (int) prefix(value) ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * This method writes the byte key of the double at the position.
+     *
+     * @param out   The array to write to.
+     * @param pos   The position to write at.
+     * @param value The value to encode.
+     * @return  The position after the key.
+     */
+    public static int putDouble(byte[] out, int pos, double value)
+    {
+        return putBits(out, pos, prefix(value) ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * This method writes the byte key of the string at the position.
+     *
+     * @param out   The array to write to.
+     * @param pos   The position to write at.
+     * @param value The value to encode.
+     * @return  The position after the key.
+     */
+    public static int putString(byte[] out, int pos, String value)
+    {
+        for (int i=0; i<value.length(); i++)
+        {
+            char c = value.charAt(i);
+            pos = putByte(out, pos, c >>> 8);
+            pos = putByte(out, pos, c & 0xFF);
+        }
+        out[pos] = 0;
+        out[pos + 1] = 0;
+        return pos + 2;
+    }
+
+    /**
+     * This method returns the long prefix of the float, whose signed order
+     * is the order of Float.compare().
+     *
+     * @param value The value to encode.
+     * @return  The long prefix.
+     */
+    public static long prefix(float value)
+    {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /**
+     * This method returns the long prefix of the double, whose signed order
+     * is the order of Double.compare().
+     *
+     * @param value The value to encode.
+     * @return  The long prefix.
+     */
+    public static long prefix(double value)
+    {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * This method returns the long prefix of the string, which packs its
+     * first four chars. A string orders before another if its prefix does,
+     * and strings with equal prefixes are ordered by their remaining chars.
+     *
+     * @param value The value to encode.
+     * @return  The long prefix.
+     */
+    public static long prefix(String value)
+    {
+        long bits = 0;
+        int n = Math.min(value.length(), 4);
+        for (int i=0; i<n; i++)
+            bits |= (long) value.charAt(i) << (48 - 16*i);
+        return bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * This method writes the big-endian bytes of the int.
+     */
+    private static int putBits(byte[] out, int pos, int bits)
+    {
+        out[pos] = (byte) (bits >>> 24);
+        out[pos + 1] = (byte) (bits >>> 16);
+        out[pos + 2] = (byte) (bits >>> 8);
+        out[pos + 3] = (byte) bits;
+        return pos + 4;
+    }
+
+    /**
+     * This method writes the big-endian bytes of the long.
+     */
+    private static int putBits(byte[] out, int pos, long bits)
+    {
+        pos = putBits(out, pos, (int) (bits >>> 32));
+        return putBits(out, pos, (int) bits);
+    }
+
+    /**
+     * This method writes the byte, escaping a zero byte.
+     */
+    private static int putByte(byte[] out, int pos, int b)
+    {
+        out[pos++] = (byte) b;
+        if (b == 0)
+            out[pos++] = 1;
+        return pos;
+    }
+}
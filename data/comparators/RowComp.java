@@ -0,0 +1,364 @@
+package data.comparators;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The RowComp class is used as a composite comparator for rows of a table,
+ * such as the String[] rows of a CSV, that are ordered by several columns.
+ *
+ * The columns are added to a builder in priority order, each by an extractor
+ * and a direction, and the builder compiles them into one comparator that
+ * loops over flat arrays of the extractors, so a comparison does not walk a
+ * chain of comparators and does not box the int, long or double keys:
+ *
+ *      Comparator<String[]> comp = RowComp.<String[]>builder()
+ *              .addString(r -> r[0])
+ *              .addInt(r -> Integer.parseInt(r[2]), true)
+ *              .build();
+ *
+ * The key() method encodes the int, long, double and string keys of a row
+ * into one byte array whose unsigned lexicographic order (as compared by
+ * ArrayComp.compareUnsigned()) is the order of the comparator. The keys are
+ * then extracted once per row rather than twice per comparison, and the rows
+ * can be ordered by a memcmp-style or radix sort of the byte keys.
+ *
+ * @param <R>   The type of the rows to compare.
+ */
+public class RowComp<R> implements Comparator<R>
+{
+    static final int INT = 0;       // the column kinds
+    static final int LONG = 1;
+    static final int DOUBLE = 2;
+    static final int STRING = 3;
+    static final int OBJECT = 4;
+
+    /**
+     * The Builder class collects the columns of a composite comparator in
+     * priority order.
+     *
+     * @param <R>   The type of the rows to compare.
+     */
+    public static class Builder<R>
+    {
+        private int size;                               // the number of columns
+        private int[] kinds = new int[4];               // the kind of each column
+        private boolean[] descending = new boolean[4];  // the direction of each column
+        private Object[] keys = new Object[4];          // the extractor of each column
+        private Comparator<?>[] comps = new Comparator<?>[4];  // the object comparators
+
+        /**
+         * This method adds an ascending int column.
+         *
+         * @param key   The extractor of the column key.
+         * @return  This builder.
+         */
+        public Builder<R> addInt(ToIntFunction<? super R> key)
+        {
+            return add(INT, key, null, false);
+        }
+
+        /**
+         * This method adds an int column.
+         *
+         * @param key           The extractor of the column key.
+         * @param descending    Whether the column is ordered descending.
+         * @return  This builder.
+         */
+        public Builder<R> addInt(ToIntFunction<? super R> key, boolean descending)
+        {
+            return add(INT, key, null, descending);
+        }
+
+        /**
+         * This method adds an ascending long column.
+         *
+         * @param key   The extractor of the column key.
+         * @return  This builder.
+         */
+        public Builder<R> addLong(ToLongFunction<? super R> key)
+        {
+            return add(LONG, key, null, false);
+        }
+
+        /**
+         * This method adds a long column.
+         *
+         * @param key           The extractor of the column key.
+         * @param descending    Whether the column is ordered descending.
+         * @return  This builder.
+         */
+        public Builder<R> addLong(ToLongFunction<? super R> key, boolean descending)
+        {
+            return add(LONG, key, null, descending);
+        }
+
+        /**
+         * This method adds an ascending double column, ordered as by
+         * Double.compare().
+         *
+         * @param key   The extractor of the column key.
+         * @return  This builder.
+         */
+        public Builder<R> addDouble(ToDoubleFunction<? super R> key)
+        {
+            return add(DOUBLE, key, null, false);
+        }
+
+        /**
+         * This method adds a double column, ordered as by Double.compare().
+         *
+         * @param key           The extractor of the column key.
+         * @param descending    Whether the column is ordered descending.
+         * @return  This builder.
+         */
+        public Builder<R> addDouble(ToDoubleFunction<? super R> key, boolean descending)
+        {
+            return add(DOUBLE, key, null, descending);
+        }
+
+        /**
+         * This method adds an ascending string column, ordered as by
+         * String.compareTo().
+         *
+         * @param key   The extractor of the column key.
+         * @return  This builder.
+         */
+        public Builder<R> addString(Function<? super R, String> key)
+        {
+            return add(STRING, key, null, false);
+        }
+
+        /**
+         * This method adds a string column, ordered as by String.compareTo().
+         *
+         * @param key           The extractor of the column key.
+         * @param descending    Whether the column is ordered descending.
+         * @return  This builder.
+         */
+        public Builder<R> addString(Function<? super R, String> key, boolean descending)
+        {
+            return add(STRING, key, null, descending);
+        }
+
+        /**
+         * This method adds a column ordered by a comparator. Rows with such
+         * a column have no byte key.
+         *
+         * @param key           The extractor of the column key.
+         * @param comp          The comparator of the column keys.
+         * @param descending    Whether the column is ordered descending.
+         * @param <K>           The type of the column keys.
+         * @return  This builder.
+         */
+        public <K> Builder<R> add(Function<? super R, K> key, Comparator<? super K> comp, boolean descending)
+        {
+            return add(OBJECT, key, comp, descending);
+        }
+
+        /**
+         * This method appends a column.
+         */
+        private Builder<R> add(int kind, Object key, Comparator<?> comp, boolean desc)
+        {
+            if (size == kinds.length)
+            {
+                kinds = Arrays.copyOf(kinds, 2*size);
+                descending = Arrays.copyOf(descending, 2*size);
+                keys = Arrays.copyOf(keys, 2*size);
+                comps = Arrays.copyOf(comps, 2*size);
+            }
+            kinds[size] = kind;
+            descending[size] = desc;
+            keys[size] = key;
+            comps[size++] = comp;
+            return this;
+        }
+
+        /**
+         * This method returns the comparator of the columns added so far.
+         *
+         * @return  The composite comparator.
+         */
+        public RowComp<R> build()
+        {
+            return new RowComp<>(Arrays.copyOf(kinds, size), Arrays.copyOf(descending, size),
+                    Arrays.copyOf(keys, size), Arrays.copyOf(comps, size));
+        }
+    }
+
+    private final int[] kinds;              // the kind of each column
+    private final boolean[] descending;     // the direction of each column
+    private final Object[] keys;            // the extractor of each column
+    private final Comparator<?>[] comps;    // the object comparators
+    private final boolean encodable;        // whether every column has a byte key
+
+    /**
+     * The constructor for a composite comparator of the compiled columns.
+     */
+    private RowComp(int[] kinds, boolean[] descending, Object[] keys, Comparator<?>[] comps)
+    {
+        this.kinds = kinds;
+        this.descending = descending;
+        this.keys = keys;
+        this.comps = comps;
+        boolean encodable = true;
+        for (int kind : kinds)
+            encodable &= (kind != OBJECT);
+        this.encodable = encodable;
+    }
+
+    /**
+     * This method returns a new builder for a composite comparator.
+     *
+     * @param <R>   The type of the rows to compare.
+     * @return  The empty builder.
+     */
+    public static <R> Builder<R> builder()
+    {
+        return new Builder<>();
+    }
+
+    /**
+     * This method implements the compare() method of the Comparator
+     * interface by comparing the columns in priority order, up to the first
+     * column that differs.
+     *
+     * @param a The left-hand side comprable row.
+     * @param b The right-hand side comprable row.
+     * @return  The compare value (negative, positive, or 0).
+     */
+    @SuppressWarnings("unchecked")
+    public int compare(R a, R b)
+    {
+        for (int i=0; i<kinds.length; i++)
+        {
+            // swap the rows of a descending column
+            R x = descending[i] ? b : a;
+            R y = descending[i] ? a : b;
+            int c;
+            switch (kinds[i])
+            {
+                case INT:
+                {
+                    ToIntFunction<? super R> key = (ToIntFunction<? super R>) keys[i];
+                    c = Integer.compare(key.applyAsInt(x), key.applyAsInt(y));
+                    break;
+                }
+                case LONG:
+                {
+                    ToLongFunction<? super R> key = (ToLongFunction<? super R>) keys[i];
+                    c = Long.compare(key.applyAsLong(x), key.applyAsLong(y));
+                    break;
+                }
+                case DOUBLE:
+                {
+                    ToDoubleFunction<? super R> key = (ToDoubleFunction<? super R>) keys[i];
+                    c = Double.compare(key.applyAsDouble(x), key.applyAsDouble(y));
+                    break;
+                }
+                case STRING:
+                {
+                    Function<? super R, String> key = (Function<? super R, String>) keys[i];
+                    c = key.apply(x).compareTo(key.apply(y));
+                    break;
+                }
+                default:
+                {
+                    Function<? super R, Object> key = (Function<? super R, Object>) keys[i];
+                    c = ((Comparator<Object>) comps[i]).compare(key.apply(x), key.apply(y));
+                    break;
+                }
+            }
+            if (c != 0)
+                return c;
+        }
+        return 0;
+    }
+
+    /**
+     * This method returns whether the rows have byte keys, which is when
+     * none of the columns is ordered by a comparator.
+     *
+     * @return  True if key() can encode the rows.
+     */
+    public boolean isEncodable()
+    {
+        return encodable;
+    }
+
+    /**
+     * This method encodes the keys of the row into a byte array, such that
+     * ArrayComp.compareUnsigned() orders the byte keys of two rows as this
+     * comparator orders the rows. The columns are encoded as KeyEncoding
+     * encodes their values, and the bytes of the descending columns are
+     * inverted.
+     *
+     * @param row   The row to encode.
+     * @return  The byte key of the row (null if a column has no byte key).
+     */
+    @SuppressWarnings("unchecked")
+    public byte[] key(R row)
+    {
+        if (!encodable)
+        {
+            System.out.println("ERROR! A comparator column has no byte key.");
+            return null;
+        }
+
+        // extract the string keys and size the byte key
+        String[] strings = null;
+        int length = 0;
+        for (int i=0; i<kinds.length; i++)
+        {
+            switch (kinds[i])
+            {
+                case INT:
+                    length += 4;
+                    break;
+                case STRING:
+                    if (strings == null)
+                        strings = new String[kinds.length];
+                    strings[i] = ((Function<? super R, String>) keys[i]).apply(row);
+                    length += KeyEncoding.length(strings[i]);
+                    break;
+                default:
+                    length += 8;
+                    break;
+            }
+        }
+
+        // write each column, inverting the bytes of the descending columns
+        byte[] out = new byte[length];
+        int pos = 0;
+        for (int i=0; i<kinds.length; i++)
+        {
+            int start = pos;
+            switch (kinds[i])
+            {
+                case INT:
+                    pos = KeyEncoding.putInt(out, pos, ((ToIntFunction<? super R>) keys[i]).applyAsInt(row));
+                    break;
+                case LONG:
+                    pos = KeyEncoding.putLong(out, pos, ((ToLongFunction<? super R>) keys[i]).applyAsLong(row));
+                    break;
+                case DOUBLE:
+                    pos = KeyEncoding.putDouble(out, pos, ((ToDoubleFunction<? super R>) keys[i]).applyAsDouble(row));
+                    break;
+                default:
+                    pos = KeyEncoding.putString(out, pos, strings[i]);
+                    break;
+            }
+            if (descending[i])
+            {
+                for (int j=start; j<pos; j++)
+                    out[j] = (byte) ~out[j];
+            }
+        }
+        return out;
+    }
+}
@@ -6,10 +6,98 @@ import java.util.Comparator;
  * The TComp class is used as a generic comparator for the basic data
  * objects that model the primitive types.
  *
+ * The comparator for the type is resolved from the class of the first
+ * object compared and reused until an object of another class is compared,
+ * so sorting an array of one type resolves it once. The class and its
+ * comparator are kept together in one immutable holder, so a TComp can be
+ * shared by the threads of a parallel sort. When the type is known
+ * up front, use the comparator returned by forClass() instead, which is
+ * resolved once and dispatches directly to the compare() method of the type:
+ *
+ *      Comparator<Integer> comp = TComp.forClass(Integer.class);
+ *
  * @param <T>   The type of data object to compare.
  */
 public class TComp<T> implements Comparator<T>
 {
+    private static final Comparator<Object> UNSUPPORTED = (a, b) -> 0;
+
+    /**
+     * A comparator resolved for a class.
+     *
+     * @param <T>   The type of data object to compare.
+     */
+    private static final class Resolved<T>
+    {
+        final Class<?> type;        // the class of the resolved comparator
+        final Comparator<T> comp;   // the comparator resolved for the class
+
+        Resolved(Class<?> type, Comparator<T> comp)
+        {
+            this.type = type;
+            this.comp = comp;
+        }
+    }
+
+    private Resolved<T> resolved;   // the last comparator resolved, or null
+
+    /**
+     * This method returns the comparator for the basic data object type,
+     * resolved once, which compares by the compare() method of the type.
+     * An unsupported type is reported here, rather than on each comparison,
+     * and its comparator returns zero (0).
+     *
+     * @param type  The class of the data objects to compare.
+     * @param <T>   The type of data object to compare.
+     * @return  The comparator for the type.
+     */
+    public static <T> Comparator<T> forClass(Class<T> type)
+    {
+        Comparator<T> comp = resolve(type);
+        if (comp == UNSUPPORTED)
+        {
+            System.out.print("ERROR! Unrecognized type name value: ");
+            System.out.print(type.getTypeName() + ".\n");
+            System.out.println("Returning zero (0) instead.");
+        }
+        return comp;
+    }
+
+    /**
+     * This method returns the comparator for the class of the basic data
+     * object type, or the unsupported comparator.
+     *
+     * @param type  The class of the data objects to compare.
+     * @param <T>   The type of data object to compare.
+     * @return  The comparator for the type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<T> resolve(Class<?> type)
+    {
+        Comparator<?> comp;
+        if (type == Boolean.class)
+            comp = (Comparator<Boolean>) Boolean::compare;
+        else if (type == Byte.class)
+            comp = (Comparator<Byte>) Byte::compare;
+        else if (type == Integer.class)
+            comp = (Comparator<Integer>) Integer::compare;
+        else if (type == Long.class)
+            comp = (Comparator<Long>) Long::compare;
+        else if (type == Short.class)
+            comp = (Comparator<Short>) Short::compare;
+        else if (type == Float.class)
+            comp = (Comparator<Float>) Float::compare;
+        else if (type == Double.class)
+            comp = (Comparator<Double>) Double::compare;
+        else if (type == Character.class)
+            comp = (Comparator<Character>) Character::compare;
+        else if (type == String.class)
+            comp = (Comparator<String>) String::compareTo;
+        else
+            comp = UNSUPPORTED;
+        return (Comparator<T>) comp;
+    }
+
     /**
      * This method implements the compare() method of the Comparator
      * interface by calling the compareTo() method of the corresponding
@@ -19,56 +107,24 @@ public class TComp<T> implements Comparator<T>
      * @param b The right-hand side comprable object.
      * @return  The compare value (-1, 1, 0).
      */
+    @SuppressWarnings("unchecked")
     public int compare(T a, T b)
     {
         // verify a and b type names match
         if (compareType(a, b) != 1)
             return 0;
 
-        // return the corresponding compare value
-        if (a.getClass().getTypeName().contains("Boolean"))
-        {
-            return Boolean.compare((Boolean) a, (Boolean) b);
-        }
-        else if (a.getClass().getTypeName().contains("Byte"))
-        {
-            return Byte.compare((Byte) a, (Byte) b);
-        }
-        else if (a.getClass().getTypeName().contains("Integer"))
-        {
-            return Integer.compare((Integer) a, (Integer) b);
-        }
-        else if (a.getClass().getTypeName().contains("Long"))
-        {
-            return Long.compare((Long) a, (Long) b);
-        }
-        else if (a.getClass().getTypeName().contains("Short"))
-        {
-            return Short.compare((Short) a, (Short) b);
-        }
-        else if (a.getClass().getTypeName().contains("Float"))
+        // resolve the comparator when the type changes
+        Class<?> c = a.getClass();
+        Resolved<T> r = resolved;
+        if ((r == null) || (r.type != c))
         {
-            return Float.compare((Float) a, (Float) b);
+            r = new Resolved<>(c, (Comparator<T>) forClass((Class<Object>) c));
+            resolved = r;
         }
-        else if (a.getClass().getTypeName().contains("Double"))
-        {
-            return Double.compare((Double) a, (Double) b);
-        }
-        else if (a.getClass().getTypeName().contains("Character"))
-        {
-            return Character.compare((Character) a, (Character) b);
-        }
-        else if (a.getClass().getTypeName().contains("String"))
-        {
-            return ((String) a).compareTo((String) b);
-        }
-        else
-        {
-            System.out.print("ERROR! Unrecognized type name value: ");
-            System.out.print(a.getClass().getTypeName() + ".\n");
-            System.out.println("Returning zero (0) instead.");
-        }
-        return 0;
+
+        // return the corresponding compare value
+        return r.comp.compare(a, b);
     }
 
     /**
@@ -82,7 +138,7 @@ public class TComp<T> implements Comparator<T>
     public int compareType(T a, T b)
     {
         // verify a and b type names match
-        if ((a != null) && (b != null) && !a.getClass().getTypeName().equals(b.getClass().getTypeName()))
+        if ((a != null) && (b != null) && (a.getClass() != b.getClass()))
         {
             System.out.print("ERROR! Comparison between non-matching types: ");
             System.out.print("(a) " + a.getClass().getTypeName() + " != ");
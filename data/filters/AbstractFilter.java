@@ -0,0 +1,174 @@
+package data.filters;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * An approximate-membership filter abstract class that implements the
+ * common methods of the filters and holds the package-private long array
+ * that stores the filter.
+ *
+ * A filter answers whether a key might be in a set: a key that was added is
+ * always reported, and an absent key is reported with a small false-positive
+ * probability, so a negative answer rules the key out before an exact search.
+ * Keys are 64-bit values, and strings are hashed to keys by hash().
+ */
+public abstract class AbstractFilter implements Filter
+{
+    long[] data;    // the filter storage
+
+    /**
+     * This method checks if the string key might be in the filter.
+     *
+     * @param key   The key to check.
+     * @return  true if the key might be in the filter, otherwise false if it
+     *          is definitely absent.
+     */
+    public boolean mightContain(String key)
+    {
+        return mightContain(hash(key));
+    }
+
+    /**
+     * This method returns the size of the filter storage in bits.
+     *
+     * @return  The number of bits of storage.
+     */
+    public long bitSize()
+    {
+        return 64L * data.length;
+    }
+
+    /**
+     * This method returns a 64-bit hash of the string, to use as its key.
+     *
+     * @param key   The string to hash.
+     * @return  The 64-bit key of the string.
+     */
+    public static long hash(String key)
+    {
+        long h = 0x9E3779B97F4A7C15L ^ key.length();
+        for (int i=0; i<key.length(); i++)
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        return mix(h);
+    }
+
+    /**
+     * This method mixes the bits of the value (the MurmurHash3 finalizer),
+     * so that every input bit affects every output bit.
+     *
+     * @param x The value to mix.
+     * @return  The mixed value.
+     */
+    static long mix(long x)
+    {
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    /**
+     * This method maps the 32-bit hash onto [0, n) by a multiply and shift,
+     * which avoids the division of a modulo.
+     */
+    static int reduce(int hash, int n)
+    {
+        return (int) (((hash & 0xFFFFFFFFL) * n) >>> 32);
+    }
+
+    /**
+     * This method writes the type, the header values and the storage of a
+     * filter to the file.
+     *
+     * @param filename  The name of the file to write.
+     * @param magic     The type of the filter.
+     * @param header    The parameters of the filter.
+     * @throws IOException  If the file cannot be written.
+     */
+    void write(String filename, int magic, long[] header) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename))))
+        {
+            out.writeInt(magic);
+            out.writeInt(header.length);
+            for (long h : header)
+                out.writeLong(h);
+            out.writeInt(data.length);
+            for (long d : data)
+                out.writeLong(d);
+        }
+    }
+
+    /**
+     * This method reads the header values and the storage of a filter of
+     * the type from the file.
+     *
+     * @param filename  The name of the file to read.
+     * @param magic     The type of the filter.
+     * @return  The header values followed by the storage, as {header, data}.
+     * @throws IOException  If the file cannot be read or is not of the type.
+     */
+    static long[][] read(String filename, int magic) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename))))
+        {
+            if (in.readInt() != magic)
+                throw new IOException("Not a filter of the expected type: " + filename);
+            long[] header = new long[in.readInt()];
+            for (int i=0; i<header.length; i++)
+                header[i] = in.readLong();
+            long[] data = new long[in.readInt()];
+            for (int i=0; i<data.length; i++)
+                data[i] = in.readLong();
+            return new long[][] {header, data};
+        }
+    }
+
+    /**
+     * This method returns the f-bit entry at the index of the packed array.
+     */
+    static int get(long[] data, long index, int f)
+    {
+        long bit = index * f;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long value = data[word] >>> shift;
+        if (shift + f > 64)
+            value |= data[word + 1] << (64 - shift);
+        return (int) (value & ((1L << f) - 1));
+    }
+
+    /**
+     * This method sets the f-bit entry at the index of the packed array.
+     */
+    static void set(long[] data, long index, int f, int value)
+    {
+        long bit = index * f;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long mask = (1L << f) - 1;
+        data[word] = (data[word] & ~(mask << shift)) | ((value & mask) << shift);
+        if (shift + f > 64)
+        {
+            int high = 64 - shift;
+            data[word + 1] = (data[word + 1] & ~(mask >>> high)) | ((value & mask) >>> high);
+        }
+    }
+
+    /**
+     * This method returns the number of storage longs of n packed f-bit
+     * entries.
+     */
+    static int words(long n, int f)
+    {
+        return (int) ((n * f + 63) >>> 6);
+    }
+}
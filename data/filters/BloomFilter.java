@@ -0,0 +1,135 @@
+package data.filters;
+
+import java.io.IOException;
+
+/**
+ * A filtering class that implements a blocked Bloom filter.
+ *
+ * Each key sets k bits of a single 512-bit block (8 longs, one cache line),
+ * so that an add or a check touches one cache line instead of k random
+ * ones. The block is chosen by the high half of the mixed key, and the bits
+ * within the block by double hashing of the low half. The filter is sized
+ * from the expected number of keys and the false-positive probability,
+ * with an allowance for the uneven load of the blocks.
+ *
+ *  Worst-case performance: O(k)            [add, check]
+ *
+ *  Worst-case complexity:  O(n*log(1/p))   [bits, p = false positives]
+ */
+public class BloomFilter extends AbstractFilter
+{
+    public static final double DEFAULT_FPP = 0.01;  // the default false positives
+    static final int MAGIC = 0x424C4F4D;            // the file type ("BLOM")
+    static final int BLOCK = 8;                     // the longs per block
+
+    private int blocks;     // the number of blocks
+    private int k;          // the number of bits set per key
+
+    /**
+     * The constructor for a blocked Bloom filter object.
+     *
+     * @param expected  The expected number of keys.
+     * @param fpp       The false-positive probability, in (0, 1).
+     */
+    public BloomFilter(long expected, double fpp)
+    {
+        if (!(fpp > 0) || !(fpp < 1))
+        {
+            System.out.printf("ERROR! Invalid false-positive probability: %f.\n", fpp);
+            fpp = DEFAULT_FPP;
+        }
+
+        // bits per key of a standard filter, plus an allowance for the blocks
+        // that grows as the false positives shrink
+        double bits = -Math.log(fpp) / (Math.log(2) * Math.log(2));
+        k = (int) Math.max(1, Math.min(16, Math.round(bits * Math.log(2))));
+        long total = (long) Math.ceil(Math.max(expected, 1) * bits * (1 - 0.055*Math.log(fpp)));
+        blocks = (int) Math.min((total + 511) / 512, Integer.MAX_VALUE / BLOCK);
+        data = new long[blocks * BLOCK];
+    }
+
+    /**
+     * The constructor for a blocked Bloom filter object read from a file.
+     */
+    private BloomFilter(long[] header, long[] data)
+    {
+        this.blocks = (int) header[0];
+        this.k = (int) header[1];
+        this.data = data;
+    }
+
+    /**
+     * This method reads a blocked Bloom filter from the file written by
+     * write().
+     *
+     * @param filename  The name of the file to read.
+     * @return  The filter read.
+     * @throws IOException  If the file cannot be read or is not a filter.
+     */
+    public static BloomFilter read(String filename) throws IOException
+    {
+        long[][] filter = read(filename, MAGIC);
+        return new BloomFilter(filter[0], filter[1]);
+    }
+
+    /**
+     * This method writes the filter to the file.
+     *
+     * @param filename  The name of the file to write.
+     * @throws IOException  If the file cannot be written.
+     */
+    public void write(String filename) throws IOException
+    {
+        write(filename, MAGIC, new long[] {blocks, k});
+    }
+
+    /**
+     * This method adds the key to the filter.
+     *
+     * @param key   The key to add.
+     */
+    public void add(long key)
+    {
+        long h = mix(key);
+        int base = reduce((int) (h >>> 32), blocks) * BLOCK;
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 23) | 1;
+        for (int i=0; i<k; i++)
+        {
+            int bit = (h1 + i*h2) & 511;
+            data[base + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * This method adds the string key to the filter.
+     *
+     * @param key   The key to add.
+     */
+    public void add(String key)
+    {
+        add(hash(key));
+    }
+
+    /**
+     * This method checks if the key might be in the filter.
+     *
+     * @param key   The key to check.
+     * @return  true if the key might be in the filter, otherwise false if it
+     *          is definitely absent.
+     */
+    public boolean mightContain(long key)
+    {
+        long h = mix(key);
+        int base = reduce((int) (h >>> 32), blocks) * BLOCK;
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 23) | 1;
+        for (int i=0; i<k; i++)
+        {
+            int bit = (h1 + i*h2) & 511;
+            if ((data[base + (bit >>> 6)] & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+}
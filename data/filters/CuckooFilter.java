@@ -0,0 +1,301 @@
+package data.filters;
+
+import java.io.IOException;
+
+/**
+ * A filtering class that implements a cuckoo filter, which supports the
+ * removal of keys.
+ *
+ * Each key is stored as an f-bit fingerprint in one of two buckets of 4
+ * slots, where the two buckets sum to the hash of the fingerprint (modulo
+ * the number of buckets), so either bucket can be found from the other and
+ * the fingerprint alone. A key is added to a free slot of its buckets, or by
+ * relocating fingerprints to their alternate buckets. The fingerprints are
+ * packed into the long array, and the fingerprint size is derived from the
+ * false-positive probability. A fingerprint that cannot be placed is kept
+ * as a victim, so that the filter never loses a key, and further adds fail.
+ *
+ * Only keys that were added may be removed, or a key that shares the
+ * fingerprint and buckets of the removed key will be lost.
+ *
+ *  Worst-case performance: O(1)            [check, remove]
+ *                          O(MAX_KICKS)    [add]
+ *
+ *  Worst-case complexity:  O(n*log(1/p))   [bits, p = false positives]
+ */
+public class CuckooFilter extends AbstractFilter
+{
+    public static final double DEFAULT_FPP = 0.001;     // the default false positives
+    static final int MAGIC = 0x43554B4F;                // the file type ("CUKO")
+    static final int SLOTS = 4;                         // the slots per bucket
+    static final int MAX_KICKS = 500;                   // the max relocations per add
+    static final double LOAD = 0.95;                    // the max load factor
+
+    private int buckets;        // the number of buckets
+    private int f;              // the bits per fingerprint
+    private long count;         // the number of keys in the filter
+    private int victim;         // the fingerprint that could not be placed (0 if none)
+    private int victimIndex;    // the bucket of the victim
+    private long random = 0x9E3779B97F4A7C15L;  // the state for choosing relocations
+
+    /**
+     * The constructor for a cuckoo filter object.
+     *
+     * @param capacity  The max number of keys.
+     * @param fpp       The false-positive probability, in (0, 1).
+     */
+    public CuckooFilter(long capacity, double fpp)
+    {
+        if (!(fpp > 0) || !(fpp < 1))
+        {
+            System.out.printf("ERROR! Invalid false-positive probability: %f.\n", fpp);
+            fpp = DEFAULT_FPP;
+        }
+
+        // a check compares 2*SLOTS fingerprints, each matching with 1/2^f
+        f = (int) Math.max(4, Math.min(32, Math.ceil(Math.log(2.0 * SLOTS / fpp) / Math.log(2))));
+        buckets = (int) Math.min(Math.ceil(Math.max(capacity, 1) / (SLOTS * LOAD)), 1 << 28);
+        data = new long[words((long) buckets * SLOTS, f)];
+    }
+
+    /**
+     * The constructor for a cuckoo filter object read from a file.
+     */
+    private CuckooFilter(long[] header, long[] data)
+    {
+        this.buckets = (int) header[0];
+        this.f = (int) header[1];
+        this.count = header[2];
+        this.victim = (int) header[3];
+        this.victimIndex = (int) header[4];
+        this.data = data;
+    }
+
+    /**
+     * This method reads a cuckoo filter from the file written by write().
+     *
+     * @param filename  The name of the file to read.
+     * @return  The filter read.
+     * @throws IOException  If the file cannot be read or is not a filter.
+     */
+    public static CuckooFilter read(String filename) throws IOException
+    {
+        long[][] filter = read(filename, MAGIC);
+        return new CuckooFilter(filter[0], filter[1]);
+    }
+
+    /**
+     * This method writes the filter to the file.
+     *
+     * @param filename  The name of the file to write.
+     * @throws IOException  If the file cannot be written.
+     */
+    public void write(String filename) throws IOException
+    {
+        write(filename, MAGIC, new long[] {buckets, f, count, victim, victimIndex});
+    }
+
+    /**
+     * This method returns the number of keys in the filter.
+     *
+     * @return  The number of keys.
+     */
+    public long size()
+    {
+        return count;
+    }
+
+    /**
+     * This method adds the key to the filter.
+     *
+     * @param key   The key to add.
+     * @return  true if the key was added, otherwise false if the filter is
+     *          full.
+     */
+    public boolean add(long key)
+    {
+        if (victim != 0)
+            return false;
+
+        long h = mix(key);
+        int fp = fingerprint(h);
+        int i = reduce((int) h, buckets);
+        if (insert(i, fp) || insert(alternate(i, fp), fp))
+        {
+            count++;
+            return true;
+        }
+
+        // relocate fingerprints to their alternate buckets
+        if (next() < 0)
+            i = alternate(i, fp);
+        for (int kick=0; kick<MAX_KICKS; kick++)
+        {
+            long slot = (long) i*SLOTS + (int) (next() >>> 62);
+            int old = get(data, slot, f);
+            set(data, slot, f, fp);
+            fp = old;
+            i = alternate(i, fp);
+            if (insert(i, fp))
+            {
+                count++;
+                return true;
+            }
+        }
+
+        // keep the last fingerprint so that no key is lost
+        victim = fp;
+        victimIndex = i;
+        count++;
+        return true;
+    }
+
+    /**
+     * This method adds the string key to the filter.
+     *
+     * @param key   The key to add.
+     * @return  true if the key was added, otherwise false if the filter is
+     *          full.
+     */
+    public boolean add(String key)
+    {
+        return add(hash(key));
+    }
+
+    /**
+     * This method removes the key from the filter.
+     *
+     * @param key   The key to remove, which must have been added.
+     * @return  true if the key was removed, otherwise false if not found.
+     */
+    public boolean remove(long key)
+    {
+        long h = mix(key);
+        int fp = fingerprint(h);
+        int i1 = reduce((int) h, buckets);
+        int i2 = alternate(i1, fp);
+
+        if ((victim == fp) && ((victimIndex == i1) || (victimIndex == i2)))
+        {
+            victim = 0;
+            count--;
+            return true;
+        }
+        if (delete(i1, fp) || delete(i2, fp))
+        {
+            count--;
+
+            // retry placing the victim in the freed slot
+            if (victim != 0)
+            {
+                fp = victim;
+                victim = 0;
+                if (!insert(victimIndex, fp) && !insert(alternate(victimIndex, fp), fp))
+                    victim = fp;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method removes the string key from the filter.
+     *
+     * @param key   The key to remove, which must have been added.
+     * @return  true if the key was removed, otherwise false if not found.
+     */
+    public boolean remove(String key)
+    {
+        return remove(hash(key));
+    }
+
+    /**
+     * This method checks if the key might be in the filter.
+     *
+     * @param key   The key to check.
+     * @return  true if the key might be in the filter, otherwise false if it
+     *          is definitely absent.
+     */
+    public boolean mightContain(long key)
+    {
+        long h = mix(key);
+        int fp = fingerprint(h);
+        int i1 = reduce((int) h, buckets);
+        int i2 = alternate(i1, fp);
+        if ((victim == fp) && ((victimIndex == i1) || (victimIndex == i2)))
+            return true;
+        return contains(i1, fp) || contains(i2, fp);
+    }
+
+    /**
+     * This method returns the non-zero fingerprint of the mixed key, taken
+     * from the bits not used for the bucket.
+     */
+    private int fingerprint(long h)
+    {
+        int fp = (int) ((h >>> 32) & ((1L << f) - 1));
+        return (fp == 0) ? 1 : fp;
+    }
+
+    /**
+     * This method returns the alternate bucket of the fingerprint.
+     */
+    private int alternate(int i, int fp)
+    {
+        int j = (int) ((mix(fp) >>> 1) % buckets) - i;
+        return (j < 0) ? j + buckets : j;
+    }
+
+    /**
+     * This method stores the fingerprint in a free slot of the bucket.
+     */
+    private boolean insert(int i, int fp)
+    {
+        long slot = (long) i*SLOTS;
+        for (int s=0; s<SLOTS; s++)
+            if (get(data, slot + s, f) == 0)
+            {
+                set(data, slot + s, f, fp);
+                return true;
+            }
+        return false;
+    }
+
+    /**
+     * This method clears a slot of the bucket holding the fingerprint.
+     */
+    private boolean delete(int i, int fp)
+    {
+        long slot = (long) i*SLOTS;
+        for (int s=0; s<SLOTS; s++)
+            if (get(data, slot + s, f) == fp)
+            {
+                set(data, slot + s, f, 0);
+                return true;
+            }
+        return false;
+    }
+
+    /**
+     * This method checks if a slot of the bucket holds the fingerprint.
+     */
+    private boolean contains(int i, int fp)
+    {
+        long slot = (long) i*SLOTS;
+        for (int s=0; s<SLOTS; s++)
+            if (get(data, slot + s, f) == fp)
+                return true;
+        return false;
+    }
+
+    /**
+     * This method returns the next value of the xorshift generator.
+     */
+    private long next()
+    {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return random;
+    }
+}
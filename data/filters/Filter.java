@@ -0,0 +1,46 @@
+package data.filters;
+
+import java.io.IOException;
+
+/**
+ * An approximate-membership filter interface containing the methods shared
+ * by the filters. An object that implements this Filter interface answers
+ * whether a key might be in a set, without false negatives and with a
+ * configurable false-positive probability.
+ */
+public interface Filter
+{
+    /**
+     * This method checks if the key might be in the filter.
+     *
+     * @param key   The key to check.
+     * @return  true if the key might be in the filter, otherwise false if it
+     *          is definitely absent.
+     */
+    boolean mightContain(long key);
+
+    /**
+     * This method checks if the string key might be in the filter.
+     *
+     * @param key   The key to check.
+     * @return  true if the key might be in the filter, otherwise false if it
+     *          is definitely absent.
+     */
+    boolean mightContain(String key);
+
+    /**
+     * This method returns the size of the filter storage in bits.
+     *
+     * @return  The number of bits of storage.
+     */
+    long bitSize();
+
+    /**
+     * This method writes the filter to the file, to be read back by the
+     * read() method of the filter class.
+     *
+     * @param filename  The name of the file to write.
+     * @throws IOException  If the file cannot be written.
+     */
+    void write(String filename) throws IOException;
+}
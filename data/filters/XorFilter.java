@@ -0,0 +1,254 @@
+package data.filters;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A filtering class that implements a static xor filter, which is built
+ * once from the set of keys.
+ *
+ * Each key maps to one slot in each of three segments of an array of f-bit
+ * fingerprints, and the fingerprints are assigned so that the xor of the
+ * three slots of every key equals the fingerprint of the key. The slots are
+ * assigned by peeling: a slot used by a single key is solved last, and the
+ * mapping is retried with a new seed in the rare case that peeling stalls,
+ * and with larger segments if MAX_ATTEMPTS seeds stall. A filter that
+ * cannot be built at the largest size holds 0-bit fingerprints, so that it
+ * reports every key as possibly present.
+ * The array holds about 1.23 fingerprints per key, packed into the long
+ * array, and the fingerprint size is derived from the false-positive
+ * probability.
+ *
+ *  Worst-case performance: O(1)            [check]
+ *  Average performance:    O(n)            [build]
+ *
+ *  Worst-case complexity:  O(n*log(1/p))   [bits, p = false positives]
+ */
+public class XorFilter extends AbstractFilter
+{
+    public static final double DEFAULT_FPP = 1.0 / 256;    // the default false positives
+    static final int MAGIC = 0x584F5246;                    // the file type ("XORF")
+    static final int MAX_ATTEMPTS = 100;                    // the max seeds tried per size
+    static final int MAX_SEGMENT = Integer.MAX_VALUE / 3;   // the max slots per segment
+
+    private long seed;          // the seed of the key mapping
+    private int segment;        // the number of slots per segment
+    private int f;              // the bits per fingerprint
+
+    /**
+     * The constructor for a xor filter object of the keys. Duplicate keys
+     * are ignored.
+     *
+     * @param keys  The keys of the filter.
+     * @param fpp   The false-positive probability, in (0, 1).
+     */
+    public XorFilter(long[] keys, double fpp)
+    {
+        if (!(fpp > 0) || !(fpp < 1))
+        {
+            System.out.printf("ERROR! Invalid false-positive probability: %f.\n", fpp);
+            fpp = DEFAULT_FPP;
+        }
+        f = (int) Math.max(1, Math.min(32, Math.ceil(-Math.log(fpp) / Math.log(2))));
+        build(unique(keys));
+    }
+
+    /**
+     * The constructor for a xor filter object of the string keys. Duplicate
+     * keys are ignored.
+     *
+     * @param keys  The keys of the filter.
+     * @param fpp   The false-positive probability, in (0, 1).
+     */
+    public XorFilter(String[] keys, double fpp)
+    {
+        this(hashes(keys), fpp);
+    }
+
+    /**
+     * The constructor for a xor filter object read from a file.
+     */
+    private XorFilter(long[] header, long[] data)
+    {
+        this.seed = header[0];
+        this.segment = (int) header[1];
+        this.f = (int) header[2];
+        this.data = data;
+    }
+
+    /**
+     * This method reads a xor filter from the file written by write().
+     *
+     * @param filename  The name of the file to read.
+     * @return  The filter read.
+     * @throws IOException  If the file cannot be read or is not a filter.
+     */
+    public static XorFilter read(String filename) throws IOException
+    {
+        long[][] filter = read(filename, MAGIC);
+        return new XorFilter(filter[0], filter[1]);
+    }
+
+    /**
+     * This method writes the filter to the file.
+     *
+     * @param filename  The name of the file to write.
+     * @throws IOException  If the file cannot be written.
+     */
+    public void write(String filename) throws IOException
+    {
+        write(filename, MAGIC, new long[] {seed, segment, f});
+    }
+
+    /**
+     * This method checks if the key might be in the filter.
+     *
+     * @param key   The key to check.
+     * @return  true if the key might be in the filter, otherwise false if it
+     *          is definitely absent.
+     */
+    public boolean mightContain(long key)
+    {
+        long h = mix(key + seed);
+        int x = get(data, slot(h, 0), f) ^ get(data, slot(h, 1), f) ^ get(data, slot(h, 2), f);
+        return x == fingerprint(h);
+    }
+
+    /**
+     * This method assigns the fingerprints of the distinct keys.
+     */
+    private void build(long[] keys)
+    {
+        int n = keys.length;
+        segment = (int) Math.min((long) (1.23 * n + 32) / 3, MAX_SEGMENT);
+        int[] order = new int[n];       // the peeled slots, in order
+        long[] hashes = new long[n];    // the hashes of the peeled slots
+
+        seed = 0x9E3779B97F4A7C15L;
+        while (true)
+        {
+            if (build(keys, order, hashes))
+                return;
+            if (segment == MAX_SEGMENT)
+                break;
+
+            // retry with segments an eighth larger
+            segment = (int) Math.min(segment + segment/8 + 1L, MAX_SEGMENT);
+        }
+
+        // report every key as possibly present rather than as absent
+        System.out.println("ERROR! Could not build the xor filter, so it matches every key.");
+        f = 0;
+        data = new long[1];
+    }
+
+    /**
+     * This method tries to assign the fingerprints of the distinct keys at
+     * the current segment size, and returns whether it succeeded.
+     */
+    private boolean build(long[] keys, int[] order, long[] hashes)
+    {
+        int n = keys.length;
+        int size = 3 * segment;
+        long[] xor = new long[size];    // the xor of the hashes mapped to each slot
+        int[] count = new int[size];    // the number of keys mapped to each slot
+        int[] queue = new int[size];    // the slots used by a single key
+
+        for (int attempt=0; attempt<MAX_ATTEMPTS; attempt++)
+        {
+            seed = mix(seed + attempt);
+            Arrays.fill(xor, 0);
+            Arrays.fill(count, 0);
+
+            // map each key to its three slots
+            for (long key : keys)
+            {
+                long h = mix(key + seed);
+                for (int j=0; j<3; j++)
+                {
+                    int s = slot(h, j);
+                    xor[s] ^= h;
+                    count[s]++;
+                }
+            }
+
+            // peel the slots used by a single key
+            int tail = 0;
+            for (int s=0; s<size; s++)
+                if (count[s] == 1)
+                    queue[tail++] = s;
+            int peeled = 0;
+            for (int head=0; head<tail; head++)
+            {
+                int s = queue[head];
+                if (count[s] != 1)
+                    continue;
+                long h = xor[s];
+                order[peeled] = s;
+                hashes[peeled++] = h;
+                for (int j=0; j<3; j++)
+                {
+                    int t = slot(h, j);
+                    xor[t] ^= h;
+                    if (--count[t] == 1)
+                        queue[tail++] = t;
+                }
+            }
+            if (peeled < n)
+                continue;
+
+            // assign the fingerprints in reverse peeling order
+            data = new long[words(size, f)];
+            for (int i=n - 1; i>=0; i--)
+            {
+                long h = hashes[i];
+                int x = fingerprint(h) ^ get(data, slot(h, 0), f) ^ get(data, slot(h, 1), f)
+                        ^ get(data, slot(h, 2), f);
+                set(data, order[i], f, x);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method returns the slot of the hash in segment j.
+     */
+    private int slot(long h, int j)
+    {
+        return reduce((int) Long.rotateLeft(h, 21*j), segment) + j*segment;
+    }
+
+    /**
+     * This method returns the fingerprint of the hash.
+     */
+    private int fingerprint(long h)
+    {
+        return (int) ((h ^ (h >>> 32)) & ((1L << f) - 1));
+    }
+
+    /**
+     * This method returns the distinct keys in ascending order.
+     */
+    private static long[] unique(long[] keys)
+    {
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i=0; i<sorted.length; i++)
+            if ((i == 0) || (sorted[i] != sorted[i - 1]))
+                sorted[n++] = sorted[i];
+        return Arrays.copyOf(sorted, n);
+    }
+
+    /**
+     * This method returns the keys of the strings.
+     */
+    private static long[] hashes(String[] keys)
+    {
+        long[] hashes = new long[keys.length];
+        for (int i=0; i<keys.length; i++)
+            hashes[i] = hash(keys[i]);
+        return hashes;
+    }
+}
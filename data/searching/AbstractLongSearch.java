@@ -0,0 +1,332 @@
+package data.searching;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A primitive searching abstract class that implements common methods used
+ * in searching algorithms and holds the sorted long array of elements to be
+ * searched.
+ *
+ * The lower and upper bounds are found by a branchless binary search, which
+ * halves a window of fixed length on every step without an early exit, so
+ * that each step compiles to a conditional move instead of a branch.
+ *
+ * A batch of keys is searched in one call: sorted keys are merge-joined
+ * against the array in a single forward pass, galloping from the previous
+ * bound, and unsorted keys are searched in groups of interleaved binary
+ * searches whose independent loads overlap their cache misses. Batches
+ * larger than the threshold are split across the common fork/join pool.
+ */
+public abstract class AbstractLongSearch
+{
+    static final int GROUP = 8;                     // interleaved searches per group
+    static final int THRESHOLD = 1 << 16;           // max keys searched sequentially
+
+    public long[] array;
+
+    /**
+     * This method initializes the array associated with this object.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    public void init(long[] array)
+    {
+        this.array = array;
+    }
+
+    /**
+     * This method searches the array for the key by the lower bound.
+     *
+     * @param key   The key to search for.
+     * @return  The position of an element equal to the key, if found,
+     *          otherwise (-(insertion point) - 1).
+     */
+    public int search(long key)
+    {
+        int pos = lowerBound(key);
+        if ((pos < array.length) && !less(key, array[pos]))
+            return pos;
+        return -(pos + 1);
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key.
+     *
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    public int lowerBound(long key)
+    {
+        return lowerBound(array, 0, array.length, key);
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * greater than the key.
+     *
+     * @param key   The key to search for.
+     * @return  The upper bound of the key, in [0, array.length].
+     */
+    public int upperBound(long key)
+    {
+        return upperBound(array, 0, array.length, key);
+    }
+
+    /**
+     * This method checks if the array contains an element equal to the key.
+     *
+     * @param key   The key to search for.
+     * @return  true if the key is found, otherwise false;
+     */
+    public boolean contains(long key)
+    {
+        return search(key) >= 0;
+    }
+
+    /**
+     * This method searches the array for each of the keys.
+     *
+     * @param keys  The keys to search for.
+     * @return  The search result of each key: the position of an element
+     *          equal to the key, if found, otherwise (-(insertion point) - 1).
+     */
+    public int[] searchAll(long[] keys)
+    {
+        int[] result = new int[keys.length];
+        if (keys.length > THRESHOLD)
+            ForkJoinPool.commonPool().invoke(new BatchTask(keys, result, 0, keys.length));
+        else
+            searchAll(keys, result, 0, keys.length);
+        return result;
+    }
+
+    /**
+     * This method searches the array for the keys in the range [from, to)
+     * into the same range of the result.
+     */
+    private void searchAll(long[] keys, int[] result, int from, int to)
+    {
+        // merge-join sorted keys, otherwise interleave the searches
+        boolean sorted = true;
+        for (int i=from + 1; sorted && (i < to); i++)
+            sorted = !less(keys[i], keys[i - 1]);
+        if (sorted)
+            mergeJoin(keys, result, from, to);
+        else
+            interleave(keys, result, from, to);
+
+        // convert the lower bounds to search results
+        int n = array.length;
+        for (int i=from; i<to; i++)
+        {
+            int pos = result[i];
+            if ((pos == n) || less(keys[i], array[pos]))
+                result[i] = -(pos + 1);
+        }
+    }
+
+    /**
+     * This method finds the lower bounds of the sorted keys in one forward
+     * pass, galloping from the bound of the previous key.
+     */
+    private void mergeJoin(long[] keys, int[] result, int from, int to)
+    {
+        int pos = 0;
+        for (int i=from; i<to; i++)
+        {
+            pos = gallopLowerBound(array, pos, keys[i]);
+            result[i] = pos;
+        }
+    }
+
+    /**
+     * This method finds the lower bounds of the keys by groups of branchless
+     * binary searches run in lockstep, so that the loads of a step are
+     * independent of each other.
+     */
+    private void interleave(long[] keys, int[] result, int from, int to)
+    {
+        int[] base = new int[GROUP];
+        for (int g=from; g<to; g+=GROUP)
+        {
+            int size = Math.min(GROUP, to - g);
+            for (int j=0; j<size; j++)
+                base[j] = 0;
+
+            int n = array.length;
+            while (n > 1)
+            {
+                int half = n >>> 1;
+                for (int j=0; j<size; j++)
+                    base[j] = less(array[base[j] + half - 1], keys[g + j]) ? base[j] + half : base[j];
+                n -= half;
+            }
+            for (int j=0; j<size; j++)
+                result[g + j] = ((n == 1) && less(array[base[j]], keys[g + j])) ? base[j] + 1 : base[j];
+        }
+    }
+
+    /**
+     * A task that searches the array for the keys in the range [from, to).
+     */
+    private class BatchTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] keys;
+        private final int[] result;
+        private final int from;
+        private final int to;
+
+        BatchTask(long[] keys, int[] result, int from, int to)
+        {
+            this.keys = keys;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= THRESHOLD)
+            {
+                searchAll(keys, result, from, to);
+                return;
+            }
+
+            // search the halves in parallel
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(keys, result, from, mid), new BatchTask(keys, result, mid, to));
+        }
+    }
+
+    /**
+     * This method returns the first position in the array, at or after the
+     * starting position, whose element is not less than the key, by an
+     * exponential search from the starting position.
+     *
+     * @param array The sorted array to search.
+     * @param from  The position to start from.
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [from, array.length].
+     */
+    public static int gallopLowerBound(long[] array, int from, long key)
+    {
+        int n = array.length;
+        if ((from >= n) || !less(array[from], key))
+            return Math.min(from, n);
+
+        // gallop until array[from + bound] is not less than the key
+        int prev = 0;
+        int bound = 1;
+        while ((bound < n - from) && less(array[from + bound], key))
+        {
+            prev = bound;
+            bound = (bound <= (n - from)/2) ? 2*bound : n - from;
+        }
+        return lowerBound(array, from + prev + 1, from + Math.min(bound, n - from), key);
+    }
+
+    /**
+     * This method returns the first position in the array, at or after the
+     * starting position, whose element is greater than the key, by an
+     * exponential search from the starting position.
+     *
+     * @param array The sorted array to search.
+     * @param from  The position to start from.
+     * @param key   The key to search for.
+     * @return  The upper bound of the key, in [from, array.length].
+     */
+    public static int gallopUpperBound(long[] array, int from, long key)
+    {
+        int n = array.length;
+        if ((from >= n) || less(key, array[from]))
+            return Math.min(from, n);
+
+        // gallop until array[from + bound] is greater than the key
+        int prev = 0;
+        int bound = 1;
+        while ((bound < n - from) && !less(key, array[from + bound]))
+        {
+            prev = bound;
+            bound = (bound <= (n - from)/2) ? 2*bound : n - from;
+        }
+        return upperBound(array, from + prev + 1, from + Math.min(bound, n - from), key);
+    }
+
+    /**
+     * This method returns the first position in the range [lo, hi) of the
+     * array whose element is not less than the key, by a branchless binary
+     * search.
+     *
+     * @param array The sorted array to search.
+     * @param lo    The start of the range to search.
+     * @param hi    The end of the range to search.
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [lo, hi].
+     */
+    public static int lowerBound(long[] array, int lo, int hi, long key)
+    {
+        int base = lo;
+        int n = hi - lo;
+        while (n > 1)
+        {
+            int half = n >>> 1;
+            base = less(array[base + half - 1], key) ? base + half : base;
+            n -= half;
+        }
+        return ((n == 1) && less(array[base], key)) ? base + 1 : base;
+    }
+
+    /**
+     * This method returns the first position in the range [lo, hi) of the
+     * array whose element is greater than the key, by a branchless binary
+     * search.
+     *
+     * @param array The sorted array to search.
+     * @param lo    The start of the range to search.
+     * @param hi    The end of the range to search.
+     * @param key   The key to search for.
+     * @return  The upper bound of the key, in [lo, hi].
+     */
+    public static int upperBound(long[] array, int lo, int hi, long key)
+    {
+        int base = lo;
+        int n = hi - lo;
+        while (n > 1)
+        {
+            int half = n >>> 1;
+            base = less(key, array[base + half - 1]) ? base : base + half;
+            n -= half;
+        }
+        return ((n == 1) && !less(key, array[base])) ? base + 1 : base;
+    }
+
+    /**
+     * This method checks if the array is sorted in ascending order.
+     *
+     * @return  true if a is sorted, otherwise false;
+     */
+    public boolean isSorted()
+    {
+        for (int i=1; i<array.length; i++)
+            if (less(array[i], array[i-1]))
+                return false;
+        return true;
+    }
+
+    /**
+     * This method returns the ascending order of the two values.
+     *
+     * @param a The left-hand side value.
+     * @param b The right-hand side value.
+     * @return  true if a orders before b, otherwise false;
+     */
+    static boolean less(long a, long b)
+    {
+        return a < b;
+    }
+}
@@ -0,0 +1,327 @@
+package data.searching;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A searching class that implements the Aho-Corasick multi-pattern string
+ * search algorithm, which finds every occurrence of any of the patterns in
+ * a single pass over the text.
+ *
+ * The patterns are compiled into a deterministic automaton stored in flat
+ * arrays: the characters of the patterns are mapped to dense classes, and
+ * the transition table holds, for every state and class, the row of the
+ * next state with the failure links already resolved. A state that ends a
+ * pattern, itself or through its suffixes, is marked by a negative row, so
+ * the scan does one table lookup per character and allocates nothing. The
+ * matches are reported to a Matches callback.
+ *
+ * Byte texts (byte[] and ByteBuffer) are matched as ISO-8859-1 characters,
+ * so patterns for UTF-8 text are compiled by utf8(). Empty patterns never
+ * match.
+ *
+ *  Worst-case performance: O(n + z)        [n = text length, z = matches]
+ *
+ *  Worst-case complexity:  O(m*k)          [m = total pattern length,
+ *                                           k = distinct pattern chars]
+ */
+public class AhoCorasickSearch
+{
+    static final int MAX_TABLE = Integer.MAX_VALUE - 8;    // max size of a table
+
+    /**
+     * A callback that receives the matches of a search.
+     */
+    public interface Matches
+    {
+        /**
+         * This method receives a match of the pattern at text[start, end).
+         *
+         * @param pattern   The index of the matched pattern.
+         * @param start     The start of the match in the text.
+         * @param end       The end of the match in the text.
+         * @return  true to continue the search, otherwise false to stop.
+         */
+        boolean match(int pattern, int start, int end);
+    }
+
+    private char[] classOf;     // the class of each char (0 if in no pattern)
+    private int width;          // the number of classes (row width)
+    private int[] delta;        // the next row of each row and class
+    private int[] first;        // the first pattern ending at each state
+    private int[] dict;         // the next suffix state ending a pattern
+    private int[] next;         // the next pattern ending at the same state
+    private int[] lengths;      // the length of each pattern
+
+    /**
+     * The constructor for an Aho-Corasick search object, which compiles the
+     * automaton of the patterns.
+     *
+     * @param patterns  The patterns to search for.
+     */
+    public AhoCorasickSearch(String... patterns)
+    {
+        compile(patterns);
+    }
+
+    /**
+     * This method returns a search object for the patterns encoded as UTF-8,
+     * to search byte texts that are encoded as UTF-8.
+     *
+     * @param patterns  The patterns to search for.
+     * @return  The search object of the encoded patterns.
+     */
+    public static AhoCorasickSearch utf8(String... patterns)
+    {
+        String[] encoded = new String[patterns.length];
+        for (int i=0; i<patterns.length; i++)
+            encoded[i] = new String(patterns[i].getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+        return new AhoCorasickSearch(encoded);
+    }
+
+    /**
+     * This method compiles the automaton of the patterns. If the patterns
+     * cannot be compiled, the error is reported and the automaton is left
+     * empty, so that a search finds no matches.
+     */
+    private void compile(String[] patterns)
+    {
+        // map the chars of the patterns to dense classes
+        classOf = new char[Character.MAX_VALUE + 1];
+        long total = 0;
+        width = 1;
+        for (String p : patterns)
+        {
+            total += p.length();
+            for (int i=0; i<p.length(); i++)
+            {
+                char c = p.charAt(i);
+                if (classOf[c] == 0)
+                {
+                    if (width == Character.MAX_VALUE)
+                    {
+                        System.out.println("ERROR! Too many distinct pattern chars.");
+                        clear();
+                        return;
+                    }
+                    classOf[c] = (char) width++;
+                }
+            }
+        }
+
+        // the rows of the states, at most one per pattern char, index the tables
+        long size = (total + 1) * width;
+        if (size > MAX_TABLE)
+        {
+            System.out.printf("ERROR! Pattern table size %d exceeds the max array size %d.\n", size, MAX_TABLE);
+            clear();
+            return;
+        }
+
+        // build the trie of the patterns, with -1 for missing edges
+        int[] trie = new int[(int) size];
+        Arrays.fill(trie, -1);
+        first = new int[(int) total + 1];
+        Arrays.fill(first, -1);
+        next = new int[patterns.length];
+        lengths = new int[patterns.length];
+        int states = 1;
+        for (int p=0; p<patterns.length; p++)
+        {
+            String pattern = patterns[p];
+            lengths[p] = pattern.length();
+            next[p] = -1;
+            if (pattern.isEmpty())
+                continue;
+
+            int s = 0;
+            for (int i=0; i<pattern.length(); i++)
+            {
+                int e = s*width + classOf[pattern.charAt(i)];
+                if (trie[e] < 0)
+                    trie[e] = states++;
+                s = trie[e];
+            }
+            next[p] = first[s];
+            first[s] = p;
+        }
+
+        // resolve the failure links in breadth-first order
+        int[] fail = new int[states];
+        dict = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 1;
+        while (head < tail)
+        {
+            int s = queue[head++];
+            for (int c=0; c<width; c++)
+            {
+                int e = s*width + c;
+                int t = trie[e];
+                int f = (s == 0) ? 0 : trie[fail[s]*width + c];
+                if (t < 0)
+                {
+                    trie[e] = f;
+                    continue;
+                }
+                fail[t] = (s == 0) ? 0 : f;
+                dict[t] = (first[fail[t]] >= 0) ? fail[t] : dict[fail[t]];
+                queue[tail++] = t;
+            }
+        }
+
+        // store the next rows, negated for states that end a pattern
+        delta = new int[(int) ((long) states * width)];
+        for (int e=0; e<delta.length; e++)
+        {
+            int t = trie[e];
+            delta[e] = ((first[t] >= 0) || (dict[t] > 0)) ? ~(t*width) : t*width;
+        }
+        first = Arrays.copyOf(first, states);
+    }
+
+    /**
+     * This method resets the automaton to the empty automaton of no
+     * patterns, whose single state loops to itself and ends no pattern.
+     */
+    private void clear()
+    {
+        Arrays.fill(classOf, (char) 0);
+        width = 1;
+        delta = new int[1];
+        first = new int[] {-1};
+        dict = new int[1];
+        next = new int[0];
+        lengths = new int[0];
+    }
+
+    /**
+     * This method returns the number of patterns.
+     *
+     * @return  The number of patterns.
+     */
+    public int size()
+    {
+        return lengths.length;
+    }
+
+    /**
+     * This method reports every match of the patterns in text[from, to).
+     *
+     * @param text      The text to search.
+     * @param from      The start of the range to search.
+     * @param to        The end of the range to search.
+     * @param matches   The callback receiving the matches.
+     * @return  true if the search completed, otherwise false if stopped.
+     */
+    public boolean search(char[] text, int from, int to, Matches matches)
+    {
+        int row = 0;
+        for (int i=from; i<to; i++)
+        {
+            row = delta[row + classOf[text[i]]];
+            if (row < 0)
+            {
+                row = ~row;
+                if (!report(row / width, i + 1, matches))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method reports every match of the patterns in text[from, to),
+     * where the bytes are matched as ISO-8859-1 chars.
+     *
+     * @param text      The text to search.
+     * @param from      The start of the range to search.
+     * @param to        The end of the range to search.
+     * @param matches   The callback receiving the matches.
+     * @return  true if the search completed, otherwise false if stopped.
+     */
+    public boolean search(byte[] text, int from, int to, Matches matches)
+    {
+        int row = 0;
+        for (int i=from; i<to; i++)
+        {
+            row = delta[row + classOf[text[i] & 0xFF]];
+            if (row < 0)
+            {
+                row = ~row;
+                if (!report(row / width, i + 1, matches))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method reports every match of the patterns in the remaining
+     * bytes of the buffer, at absolute buffer positions, without changing
+     * the position of the buffer.
+     *
+     * @param text      The text to search.
+     * @param matches   The callback receiving the matches.
+     * @return  true if the search completed, otherwise false if stopped.
+     */
+    public boolean search(ByteBuffer text, Matches matches)
+    {
+        if (text.hasArray())
+        {
+            int offset = text.arrayOffset();
+            return search(text.array(), offset + text.position(), offset + text.limit(),
+                          (p, start, end) -> matches.match(p, start - offset, end - offset));
+        }
+
+        int row = 0;
+        for (int i=text.position(); i<text.limit(); i++)
+        {
+            row = delta[row + classOf[text.get(i) & 0xFF]];
+            if (row < 0)
+            {
+                row = ~row;
+                if (!report(row / width, i + 1, matches))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method checks if any of the patterns occurs in the text.
+     *
+     * @param text  The text to search.
+     * @return  true if a pattern is found, otherwise false;
+     */
+    public boolean contains(char[] text)
+    {
+        return !search(text, 0, text.length, (p, start, end) -> false);
+    }
+
+    /**
+     * This method checks if any of the patterns occurs in the text.
+     *
+     * @param text  The text to search.
+     * @return  true if a pattern is found, otherwise false;
+     */
+    public boolean contains(byte[] text)
+    {
+        return !search(text, 0, text.length, (p, start, end) -> false);
+    }
+
+    /**
+     * This method reports the patterns ending at the state, and at each of
+     * its suffix states that end a pattern.
+     */
+    private boolean report(int state, int end, Matches matches)
+    {
+        for (int s=state; s>0; s=dict[s])
+            for (int p=first[s]; p>=0; p=next[p])
+                if (!matches.match(p, end - lengths[p], end))
+                    return false;
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package data.searching;
+
+import java.util.Comparator;
+
+/**
+ * A searching class that implements the binary search algorithm.
+ *
+ * The search halves the range around the middle element and stops as soon
+ * as an equal element is found. The lower and upper bounds use the
+ * branchless binary search of the abstract class.
+ *
+ *  Worst-case performance: O(log(n))
+ *  Best-case performance:  O(1)
+ *
+ *  Average performance:    O(log(n))
+ *
+ *  Worst-case complexity:  O(1)            [auxiliary]
+ *
+ * @param <T>   The type of objects to be searched.
+ */
+public class BinarySearch<T> extends AbstractSearch<T> implements Search<T>
+{
+    /**
+     * The constructor for a binary search object.
+     *
+     * @param array The sorted array to associate with this object.
+     * @param comp  The comparator the array is sorted by.
+     */
+    public BinarySearch(T[] array, Comparator<T> comp)
+    {
+        init(array, comp);
+    }
+
+    /**
+     * This method searches the array for the key by a binary search.
+     *
+     * @param key   The key to search for.
+     * @return  The position of an element equal to the key, if found,
+     *          otherwise (-(insertion point) - 1).
+     */
+    @Override
+    public int search(T key)
+    {
+        int lo = 0;
+        int hi = array.length - 1;
+
+        while (lo <= hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            int c = comp.compare(array[mid], key);
+            if (c < 0)
+                lo = mid + 1;
+            else if (c > 0)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -(lo + 1);
+    }
+}
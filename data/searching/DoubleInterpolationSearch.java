@@ -0,0 +1,76 @@
+package data.searching;
+
+/**
+ * A searching class that implements the interpolation search algorithm on a
+ * sorted array of primitive double values.
+ *
+ * Each step probes the position where the key would be if the values of the
+ * range were uniformly distributed between its first and last elements. A
+ * step that fails to halve the range is followed by a bisection step, which
+ * bounds the worst case to twice that of a binary search.
+ *
+ *  Worst-case performance: O(log(n))       [bisection fallback]
+ *  Best-case performance:  O(1)
+ *
+ *  Average performance:    O(log(log(n)))  [uniform values]
+ *
+ *  Worst-case complexity:  O(1)            [auxiliary]
+ */
+public class DoubleInterpolationSearch extends AbstractDoubleSearch
+{
+    /**
+     * The constructor for an interpolation search object.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    public DoubleInterpolationSearch(double[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key, by an interpolation search.
+     *
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    @Override
+    public int lowerBound(double key)
+    {
+        int lo = 0;
+        int hi = array.length;
+        boolean bisect = false;
+
+        // the lower bound is in [lo, hi]
+        while (lo < hi)
+        {
+            if (!less(array[lo], key))
+                return lo;
+            if (less(array[hi - 1], key))
+                return hi;
+
+            int size = hi - lo;
+            int pos;
+            if (bisect)
+            {
+                pos = (lo + hi) >>> 1;
+            }
+            else
+            {
+                double first = array[lo];
+                pos = lo + (int) ((key - first) / (array[hi - 1] - first) * (size - 1));
+                pos = Math.max(lo, Math.min(pos, hi - 1));
+            }
+
+            if (less(array[pos], key))
+                lo = pos + 1;
+            else
+                hi = pos;
+
+            // bisect next if the probe did not halve the range
+            bisect = !bisect && (hi - lo > size/2);
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,117 @@
+package data.searching;
+
+import java.util.Comparator;
+import java.util.function.IntFunction;
+
+/**
+ * A searching class that implements the exponential (galloping) search
+ * algorithm.
+ *
+ * The search probes positions at doubling distances from a starting
+ * position until it passes the key, and then binary searches the last
+ * doubling. The cost depends on the distance to the key rather than on the
+ * array length, which suits searches from a hint, such as successive keys
+ * of a sorted stream, and sorted input of unknown length.
+ *
+ *  Worst-case performance: O(log(d))       [d = distance from the start]
+ *  Best-case performance:  O(1)
+ *
+ *  Average performance:    O(log(d))
+ *
+ *  Worst-case complexity:  O(1)            [auxiliary]
+ *
+ * @param <T>   The type of objects to be searched.
+ */
+public class ExponentialSearch<T> extends AbstractSearch<T> implements Search<T>
+{
+    /**
+     * The constructor for an exponential search object.
+     *
+     * @param array The sorted array to associate with this object.
+     * @param comp  The comparator the array is sorted by.
+     */
+    public ExponentialSearch(T[] array, Comparator<T> comp)
+    {
+        init(array, comp);
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key, by an exponential search from the start.
+     *
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    @Override
+    public int lowerBound(T key)
+    {
+        return lowerBound(key, 0);
+    }
+
+    /**
+     * This method returns the first position in the array, at or after the
+     * starting position, whose element is not less than the key.
+     *
+     * @param key   The key to search for.
+     * @param from  The position to start from (such as the previous bound).
+     * @return  The lower bound of the key, in [from, array.length].
+     */
+    public int lowerBound(T key, int from)
+    {
+        return gallopLowerBound(array, from, key, comp);
+    }
+
+    /**
+     * This method returns the first position in the array, at or after the
+     * starting position, whose element is greater than the key.
+     *
+     * @param key   The key to search for.
+     * @param from  The position to start from (such as the previous bound).
+     * @return  The upper bound of the key, in [from, array.length].
+     */
+    public int upperBound(T key, int from)
+    {
+        return gallopUpperBound(array, from, key, comp);
+    }
+
+    /**
+     * This method returns the first position of a sorted source of unknown
+     * length whose element is not less than the key, where the source
+     * returns null past its end.
+     *
+     * @param source    The sorted source of elements by position.
+     * @param key       The key to search for.
+     * @param comp      The comparator the source is sorted by.
+     * @param <T>       The type of objects to be searched.
+     * @return  The lower bound of the key.
+     */
+    public static <T> int lowerBound(IntFunction<T> source, T key, Comparator<? super T> comp)
+    {
+        // gallop until the element is missing or not less than the key
+        int prev = -1;
+        int bound = 0;
+        T value;
+        while (((value = source.apply(bound)) != null) && (comp.compare(value, key) < 0))
+        {
+            if (bound == Integer.MAX_VALUE)
+                return bound;
+            prev = bound;
+            bound = (bound < Integer.MAX_VALUE/2) ? 2*bound + 1 : Integer.MAX_VALUE;
+        }
+
+        // binary search (prev, bound], where the element at bound is missing
+        // or not less than the key
+        int lo = prev + 1;
+        int hi = bound;
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            value = source.apply(mid);
+            if ((value != null) && (comp.compare(value, key) < 0))
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,171 @@
+package data.searching;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A searching class that implements the Boyer-Moore-Horspool single-pattern
+ * string search algorithm.
+ *
+ * The pattern is compared at each alignment from its last char, and a
+ * mismatch shifts the alignment by the distance from the last occurrence of
+ * the text char under the end of the pattern to the end of the pattern. The
+ * shifts are kept in a table of 256 entries indexed by the low byte of the
+ * char, where chars sharing a low byte take the smallest of their shifts, so
+ * the table stays in one cache line group for both char and byte texts.
+ *
+ * Byte texts (byte[] and ByteBuffer) are matched as ISO-8859-1 characters,
+ * so patterns for UTF-8 text are compiled by utf8().
+ *
+ *  Worst-case performance: O(n*m)          [n = text length, m = pattern]
+ *  Best-case performance:  O(n/m)
+ *
+ *  Average performance:    O(n)            [random text]
+ *
+ *  Worst-case complexity:  O(m)            [auxiliary]
+ */
+public class HorspoolSearch
+{
+    private char[] pattern;     // the pattern to search for
+    private int[] shift;        // the shift of each low byte of the end char
+
+    /**
+     * The constructor for a Horspool search object.
+     *
+     * @param pattern   The pattern to search for.
+     */
+    public HorspoolSearch(String pattern)
+    {
+        this.pattern = pattern.toCharArray();
+        int m = this.pattern.length;
+        shift = new int[256];
+        for (int c=0; c<256; c++)
+            shift[c] = Math.max(m, 1);
+        for (int i=0; i<m - 1; i++)
+            shift[this.pattern[i] & 0xFF] = m - 1 - i;
+    }
+
+    /**
+     * This method returns a search object for the pattern encoded as UTF-8,
+     * to search byte texts that are encoded as UTF-8.
+     *
+     * @param pattern   The pattern to search for.
+     * @return  The search object of the encoded pattern.
+     */
+    public static HorspoolSearch utf8(String pattern)
+    {
+        return new HorspoolSearch(new String(pattern.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * This method returns the length of the pattern.
+     *
+     * @return  The length of the pattern.
+     */
+    public int length()
+    {
+        return pattern.length;
+    }
+
+    /**
+     * This method returns the first position of the pattern in
+     * text[from, to).
+     *
+     * @param text  The text to search.
+     * @param from  The start of the range to search.
+     * @param to    The end of the range to search.
+     * @return  The start of the first match, or -1 if not found.
+     */
+    public int indexOf(char[] text, int from, int to)
+    {
+        int m = pattern.length;
+        if (m == 0)
+            return (from <= to) ? from : -1;
+
+        char last = pattern[m - 1];
+        for (int i=from; i<=to - m; )
+        {
+            char c = text[i + m - 1];
+            if (c == last)
+            {
+                int j = 0;
+                while ((j < m - 1) && (text[i + j] == pattern[j]))
+                    j++;
+                if (j == m - 1)
+                    return i;
+            }
+            i += shift[c & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * This method returns the first position of the pattern in
+     * text[from, to), where the bytes are matched as ISO-8859-1 chars.
+     *
+     * @param text  The text to search.
+     * @param from  The start of the range to search.
+     * @param to    The end of the range to search.
+     * @return  The start of the first match, or -1 if not found.
+     */
+    public int indexOf(byte[] text, int from, int to)
+    {
+        int m = pattern.length;
+        if (m == 0)
+            return (from <= to) ? from : -1;
+
+        char last = pattern[m - 1];
+        for (int i=from; i<=to - m; )
+        {
+            int c = text[i + m - 1] & 0xFF;
+            if (c == last)
+            {
+                int j = 0;
+                while ((j < m - 1) && ((text[i + j] & 0xFF) == pattern[j]))
+                    j++;
+                if (j == m - 1)
+                    return i;
+            }
+            i += shift[c];
+        }
+        return -1;
+    }
+
+    /**
+     * This method returns the first absolute position of the pattern in the
+     * remaining bytes of the buffer, without changing the position of the
+     * buffer.
+     *
+     * @param text  The text to search.
+     * @return  The start of the first match, or -1 if not found.
+     */
+    public int indexOf(ByteBuffer text)
+    {
+        if (text.hasArray())
+        {
+            int offset = text.arrayOffset();
+            int i = indexOf(text.array(), offset + text.position(), offset + text.limit());
+            return (i < 0) ? -1 : i - offset;
+        }
+
+        int m = pattern.length;
+        if (m == 0)
+            return text.position();
+
+        char last = pattern[m - 1];
+        for (int i=text.position(); i<=text.limit() - m; )
+        {
+            int c = text.get(i + m - 1) & 0xFF;
+            if (c == last)
+            {
+                int j = 0;
+                while ((j < m - 1) && ((text.get(i + j) & 0xFF) == pattern[j]))
+                    j++;
+                if (j == m - 1)
+                    return i;
+            }
+            i += shift[c];
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,88 @@
+package data.searching;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A searching class that implements the interpolation search algorithm for
+ * elements ordered by a numeric key.
+ *
+ * Each step probes the position where the key would be if the keys of the
+ * range were uniformly distributed between its first and last elements. A
+ * step that fails to halve the range is followed by a bisection step, which
+ * bounds the worst case to twice that of a binary search.
+ *
+ *  Worst-case performance: O(log(n))       [bisection fallback]
+ *  Best-case performance:  O(1)
+ *
+ *  Average performance:    O(log(log(n)))  [uniform keys]
+ *
+ *  Worst-case complexity:  O(1)            [auxiliary]
+ *
+ * @param <T>   The type of objects to be searched.
+ */
+public class InterpolationSearch<T> extends AbstractSearch<T> implements Search<T>
+{
+    private ToDoubleFunction<T> key;    // the numeric key of an element
+
+    /**
+     * The constructor for an interpolation search object.
+     *
+     * @param array The sorted array to associate with this object.
+     * @param comp  The comparator the array is sorted by.
+     * @param key   The numeric key of an element, in the order of comp.
+     */
+    public InterpolationSearch(T[] array, Comparator<T> comp, ToDoubleFunction<T> key)
+    {
+        init(array, comp);
+        this.key = key;
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key, by an interpolation search.
+     *
+     * @param value The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    @Override
+    public int lowerBound(T value)
+    {
+        int lo = 0;
+        int hi = array.length;
+        double k = key.applyAsDouble(value);
+        boolean bisect = false;
+
+        // the lower bound is in [lo, hi]
+        while (lo < hi)
+        {
+            if (comp.compare(array[lo], value) >= 0)
+                return lo;
+            if (comp.compare(array[hi - 1], value) < 0)
+                return hi;
+
+            int size = hi - lo;
+            int pos;
+            if (bisect)
+            {
+                pos = (lo + hi) >>> 1;
+            }
+            else
+            {
+                double first = key.applyAsDouble(array[lo]);
+                double last = key.applyAsDouble(array[hi - 1]);
+                pos = lo + (int) ((k - first) / (last - first) * (size - 1));
+                pos = Math.max(lo, Math.min(pos, hi - 1));
+            }
+
+            if (comp.compare(array[pos], value) < 0)
+                lo = pos + 1;
+            else
+                hi = pos;
+
+            // bisect next if the probe did not halve the range
+            bisect = !bisect && (hi - lo > size/2);
+        }
+        return lo;
+    }
+}
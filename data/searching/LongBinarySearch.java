@@ -0,0 +1,55 @@
+package data.searching;
+
+/**
+ * A searching class that implements the binary search algorithm on a sorted
+ * array of primitive long values.
+ *
+ * The search halves the range around the middle element and stops as soon
+ * as an equal element is found. The lower and upper bounds use the
+ * branchless binary search of the abstract class.
+ *
+ *  Worst-case performance: O(log(n))
+ *  Best-case performance:  O(1)
+ *
+ *  Average performance:    O(log(n))
+ *
+ *  Worst-case complexity:  O(1)            [auxiliary]
+ */
+public class LongBinarySearch extends AbstractLongSearch
+{
+    /**
+     * The constructor for a binary search object.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    public LongBinarySearch(long[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * This method searches the array for the key by a binary search.
+     *
+     * @param key   The key to search for.
+     * @return  The position of an element equal to the key, if found,
+     *          otherwise (-(insertion point) - 1).
+     */
+    @Override
+    public int search(long key)
+    {
+        int lo = 0;
+        int hi = array.length - 1;
+
+        while (lo <= hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            if (less(array[mid], key))
+                lo = mid + 1;
+            else if (less(key, array[mid]))
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -(lo + 1);
+    }
+}
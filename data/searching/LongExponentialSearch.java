@@ -0,0 +1,70 @@
+package data.searching;
+
+/**
+ * A searching class that implements the exponential (galloping) search
+ * algorithm on a sorted array of primitive long values.
+ *
+ * The search probes positions at doubling distances from a starting
+ * position until it passes the key, and then binary searches the last
+ * doubling. The cost depends on the distance to the key rather than on the
+ * array length, which suits searches from a hint, such as successive keys
+ * of a sorted stream.
+ *
+ *  Worst-case performance: O(log(d))       [d = distance from the start]
+ *  Best-case performance:  O(1)
+ *
+ *  Average performance:    O(log(d))
+ *
+ *  Worst-case complexity:  O(1)            [auxiliary]
+ */
+public class LongExponentialSearch extends AbstractLongSearch
+{
+    /**
+     * The constructor for an exponential search object.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    public LongExponentialSearch(long[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key, by an exponential search from the start.
+     *
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    @Override
+    public int lowerBound(long key)
+    {
+        return lowerBound(key, 0);
+    }
+
+    /**
+     * This method returns the first position in the array, at or after the
+     * starting position, whose element is not less than the key.
+     *
+     * @param key   The key to search for.
+     * @param from  The position to start from (such as the previous bound).
+     * @return  The lower bound of the key, in [from, array.length].
+     */
+    public int lowerBound(long key, int from)
+    {
+        return gallopLowerBound(array, from, key);
+    }
+
+    /**
+     * This method returns the first position in the array, at or after the
+     * starting position, whose element is greater than the key.
+     *
+     * @param key   The key to search for.
+     * @param from  The position to start from (such as the previous bound).
+     * @return  The upper bound of the key, in [from, array.length].
+     */
+    public int upperBound(long key, int from)
+    {
+        return gallopUpperBound(array, from, key);
+    }
+}
@@ -0,0 +1,136 @@
+package data.searching;
+
+/**
+ * A searching class that implements a static search index on a sorted array
+ * of primitive long values, re-laid out in Eytzinger (breadth-first) order.
+ *
+ * The node k of the implicit binary search tree is stored at tree[k], with
+ * its children at 2k and 2k+1, so the first levels of every search share a
+ * few cache lines and the nodes of the next levels are close together. The
+ * search descends to the bottom of the tree without an early exit, and the
+ * lower bound is recovered from the path by stripping the trailing right
+ * turns. The rank of each node maps the result back to its position in the
+ * sorted array. Arrays of 2^30 or more elements, whose index would overflow
+ * the node numbers, are not indexed and are searched by the branchless
+ * binary search of the abstract class instead.
+ *
+ * Java has no software prefetch, so the descent branches on each comparison
+ * instead of selecting the child by a conditional move: the predicted branch
+ * lets the processor load the next node speculatively, which overlaps the
+ * cache misses of successive levels like a prefetch would.
+ *
+ *  Worst-case performance: O(log(n))
+ *  Best-case performance:  O(log(n))
+ *
+ *  Average performance:    O(log(n))
+ *
+ *  Worst-case complexity:  O(n)            [index]
+ */
+public class LongEytzingerSearch extends AbstractLongSearch
+{
+    private long[] tree;    // the values in Eytzinger order (1-based), or null
+    private int[] rank;     // the sorted position of each node (n at 0)
+
+    /**
+     * The constructor for an Eytzinger search object, which builds the index
+     * of the sorted array.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    public LongEytzingerSearch(long[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * This method initializes the array associated with this object and
+     * builds its index, unless the array is too long to index.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    @Override
+    public void init(long[] array)
+    {
+        this.array = array;
+        if (array.length >= (1 << 30))
+        {
+            tree = null;
+            rank = null;
+            return;
+        }
+        tree = new long[array.length + 1];
+        rank = new int[array.length + 1];
+        rank[0] = array.length;
+        build(0, 1);
+    }
+
+    /**
+     * This method fills the subtree of node k by an in-order traversal of
+     * the sorted array from position i, and returns the next position.
+     */
+    private int build(int i, int k)
+    {
+        if (k < tree.length)
+        {
+            i = build(i, 2*k);
+            tree[k] = array[i];
+            rank[k] = i++;
+            i = build(i, 2*k + 1);
+        }
+        return i;
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key, by a descent of the index.
+     *
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    @Override
+    public int lowerBound(long key)
+    {
+        if (tree == null)
+            return super.lowerBound(key);
+        int n = tree.length;
+        int k = 1;
+        while (k < n)
+        {
+            if (less(tree[k], key))
+                k = 2*k + 1;
+            else
+                k = 2*k;
+        }
+
+        // strip the right turns below the last left turn
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return rank[k];
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * greater than the key, by a descent of the index.
+     *
+     * @param key   The key to search for.
+     * @return  The upper bound of the key, in [0, array.length].
+     */
+    @Override
+    public int upperBound(long key)
+    {
+        if (tree == null)
+            return super.upperBound(key);
+        int n = tree.length;
+        int k = 1;
+        while (k < n)
+        {
+            if (less(key, tree[k]))
+                k = 2*k;
+            else
+                k = 2*k + 1;
+        }
+
+        // strip the right turns below the last left turn
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return rank[k];
+    }
+}
@@ -0,0 +1,259 @@
+package data.searching;
+
+import java.util.Arrays;
+
+/**
+ * A searching class that implements a static learned index on a sorted
+ * array of primitive long values, such as timestamps or IDs.
+ *
+ * The index models the cumulative distribution of the keys: the position
+ * of each distinct key is predicted by a piecewise-linear function within
+ * a fixed error bound epsilon, and the segments are fitted in one pass by
+ * the shrinking-cone algorithm, which extends a segment for as long as one
+ * slope from its first point fits every point within the bound. The first
+ * keys of the segments are indexed the same way by further levels, up to a
+ * single root segment (a recursive model index), so a lookup predicts a
+ * position at each level and corrects it by a binary search of a window of
+ * 2*epsilon elements.
+ *
+ * Each segment takes 20 bytes, and smooth key distributions need few
+ * segments, so the index is a small fraction of the size of a B-tree over
+ * the array. The error bound holds for distinct keys; a lower bound that
+ * falls outside its window, after a long run of duplicates, is found by a
+ * galloping search from the window instead.
+ *
+ *  Worst-case performance: O(h*log(epsilon))   [h = levels, distinct keys]
+ *                          O(log(n))           [duplicate keys]
+ *
+ *  Worst-case complexity:  O(n/epsilon)        [index]
+ */
+public class LongLearnedSearch extends AbstractLongSearch
+{
+    public static final int EPSILON = 32;           // the default error bound
+    static final int LEVEL_EPSILON = 4;             // the error bound of the upper levels
+
+    /**
+     * A level of the index, holding the segments fitted over the keys of
+     * the level below.
+     */
+    private static class Level
+    {
+        long[] keys = new long[16];         // the first key of each segment
+        double[] slopes = new double[16];   // the slope of each segment
+        int[] starts = new int[16];         // the first position of each segment
+        int size;                           // the number of segments
+
+        /**
+         * This method appends a segment to the level.
+         */
+        void add(long key, double slope, int start)
+        {
+            if (size == keys.length)
+            {
+                keys = Arrays.copyOf(keys, 2*size);
+                slopes = Arrays.copyOf(slopes, 2*size);
+                starts = Arrays.copyOf(starts, 2*size);
+            }
+            keys[size] = key;
+            slopes[size] = slope;
+            starts[size++] = start;
+        }
+
+        /**
+         * This method trims the level to its size.
+         */
+        void trim()
+        {
+            keys = Arrays.copyOf(keys, size);
+            slopes = Arrays.copyOf(slopes, size);
+            starts = Arrays.copyOf(starts, size);
+        }
+    }
+
+    private int epsilon = EPSILON;  // the error bound of the bottom level
+    private Level[] levels;         // the levels of the index (bottom first)
+
+    /**
+     * The constructor for a learned search object with the default error
+     * bound, which builds the index of the sorted array.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    public LongLearnedSearch(long[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * The constructor for a learned search object, which builds the index
+     * of the sorted array.
+     *
+     * @param array     The sorted array to associate with this object.
+     * @param epsilon   The max error of the predicted positions.
+     */
+    public LongLearnedSearch(long[] array, int epsilon)
+    {
+        this.epsilon = Math.max(epsilon, 1);
+        init(array);
+    }
+
+    /**
+     * This method initializes the array associated with this object and
+     * builds its index.
+     *
+     * @param array The sorted array to associate with this object.
+     */
+    @Override
+    public void init(long[] array)
+    {
+        this.array = array;
+        Level[] built = new Level[0];
+        if (array.length > 0)
+        {
+            // fit levels over the keys of the level below up to one segment
+            Level level = fit(array, array.length, epsilon);
+            built = new Level[] {level};
+            while (level.size > 1)
+            {
+                level = fit(level.keys, level.size, LEVEL_EPSILON);
+                built = Arrays.copyOf(built, built.length + 1);
+                built[built.length - 1] = level;
+            }
+            for (Level l : built)
+                l.trim();
+        }
+        levels = built;
+    }
+
+    /**
+     * This method fits the segments of a level over the first positions of
+     * the distinct keys of the sorted range keys[0, n), by the shrinking-cone
+     * algorithm.
+     */
+    private static Level fit(long[] keys, int n, int epsilon)
+    {
+        Level level = new Level();
+        long x0 = keys[0];
+        int y0 = 0;
+        double lo = 0;
+        double hi = Double.POSITIVE_INFINITY;
+        for (int i=1; i<n; i++)
+        {
+            if (keys[i] == keys[i - 1])
+                continue;
+
+            // narrow the cone of slopes that fit every point within the bound
+            double dx = offset(keys[i], x0);
+            double dy = i - y0;
+            double min = (dy - epsilon) / dx;
+            double max = (dy + epsilon) / dx;
+            if ((min <= hi) && (max >= lo))
+            {
+                lo = Math.max(lo, min);
+                hi = Math.min(hi, max);
+                continue;
+            }
+
+            // start a new segment at the point outside the cone
+            level.add(x0, (hi == Double.POSITIVE_INFINITY) ? 0 : (lo + hi) / 2, y0);
+            x0 = keys[i];
+            y0 = i;
+            lo = 0;
+            hi = Double.POSITIVE_INFINITY;
+        }
+        level.add(x0, (hi == Double.POSITIVE_INFINITY) ? 0 : (lo + hi) / 2, y0);
+        return level;
+    }
+
+    /**
+     * This method returns the number of segments of the index.
+     *
+     * @return  The number of segments in all of the levels.
+     */
+    public int segments()
+    {
+        int count = 0;
+        for (Level level : levels)
+            count += level.size;
+        return count;
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key, by the predictions of the index.
+     *
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    @Override
+    public int lowerBound(long key)
+    {
+        if (levels.length == 0)
+            return 0;
+
+        // predict the segment of the key at each level from the root down
+        int s = 0;
+        for (int l=levels.length - 1; l>0; l--)
+        {
+            Level below = levels[l - 1];
+            int pos = window(below.keys, predict(levels[l], s, key, below.size), LEVEL_EPSILON, key);
+            s = ((pos == below.size) || (below.keys[pos] != key)) ? Math.max(pos - 1, 0) : pos;
+        }
+        return window(array, predict(levels[0], s, key, array.length), epsilon, key);
+    }
+
+    /**
+     * This method returns the first position in the array whose element is
+     * greater than the key, by the predictions of the index.
+     *
+     * @param key   The key to search for.
+     * @return  The upper bound of the key, in [0, array.length].
+     */
+    @Override
+    public int upperBound(long key)
+    {
+        return (key == Long.MAX_VALUE) ? array.length : lowerBound(key + 1);
+    }
+
+    /**
+     * This method returns the position of the key predicted by the segment
+     * of the level, within the positions of the segment.
+     */
+    private static int predict(Level level, int s, long key, int n)
+    {
+        int start = level.starts[s];
+        int end = (s + 1 < level.size) ? level.starts[s + 1] : n;
+        double pos = start + level.slopes[s] * offset(key, level.keys[s]);
+        return (int) Math.min(pos, end);
+    }
+
+    /**
+     * This method returns the lower bound of the key in the array by a
+     * binary search of the window around the predicted position, or by a
+     * search outside of the window if the bound is not within it.
+     */
+    private static int window(long[] array, int pos, int epsilon, long key)
+    {
+        int n = array.length;
+        int lo = Math.max(0, Math.min(pos - epsilon - 1, n));
+        int hi = Math.min(n, pos + epsilon + 2);
+        int bound = lowerBound(array, lo, hi, key);
+        if ((bound == lo) && (lo > 0) && !less(array[lo - 1], key))
+            return lowerBound(array, 0, lo, key);
+        if ((bound == hi) && (hi < n))
+            return gallopLowerBound(array, hi, key);
+        return bound;
+    }
+
+    /**
+     * This method returns the distance from the origin to the key, as an
+     * unsigned difference, or 0 if the key is not after the origin.
+     */
+    private static double offset(long key, long origin)
+    {
+        if (key <= origin)
+            return 0;
+        long d = key - origin;
+        return (d >= 0) ? d : 2.0 * (d >>> 1);
+    }
+}
@@ -1,12 +1,68 @@
 package data.searching;
 
+import java.util.Comparator;
+
 /**
  * A generic searching interface containing useful methods in searching
  * for objects of a desired type. An object that implements this Search
  * interface can find a desired object in a generic array.
  *
+ * The array must be sorted in ascending order by the comparator. The search
+ * methods return positions in the style of Arrays.binarySearch(), and the
+ * bound methods return insertion points.
+ *
  * @param <T>   The type of objects to be searched.
  */
 public interface Search<T>
 {
+    /**
+     * This method initializes the array associated with this object.
+     *
+     * @param array The sorted array to associate with this object.
+     * @param comp  The comparator the array is sorted by.
+     */
+    void init(T[] array, Comparator<T> comp);
+
+    /**
+     * This method searches the array for the key.
+     *
+     * @param key   The key to search for.
+     * @return  The position of an element equal to the key, if found,
+     *          otherwise (-(insertion point) - 1).
+     */
+    int search(T key);
+
+    /**
+     * This method searches the array for each of the keys.
+     *
+     * @param keys  The keys to search for.
+     * @return  The search result of each key, as by search().
+     */
+    int[] searchAll(T[] keys);
+
+    /**
+     * This method returns the first position in the array whose element is
+     * not less than the key.
+     *
+     * @param key   The key to search for.
+     * @return  The lower bound of the key, in [0, array.length].
+     */
+    int lowerBound(T key);
+
+    /**
+     * This method returns the first position in the array whose element is
+     * greater than the key.
+     *
+     * @param key   The key to search for.
+     * @return  The upper bound of the key, in [0, array.length].
+     */
+    int upperBound(T key);
+
+    /**
+     * This method checks if the array contains an element equal to the key.
+     *
+     * @param key   The key to search for.
+     * @return  true if the key is found, otherwise false;
+     */
+    boolean contains(T key);
 }
@@ -0,0 +1,112 @@
+package data.searching;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongToIntFunction;
+
+/**
+ * The SearchBenchmark class times the lower-bound searches on a sorted
+ * array of random long values and prints the best time of several runs for
+ * each, in nanoseconds per query.
+ *
+ * Usage:
+ *
+ *      java -Xmx4g data.searching.SearchBenchmark [n] [queries] [runs]
+ *
+ * where n is the array length (default 100,000,000), queries is the number
+ * of random queries per run (default 10,000,000) and runs is the number of
+ * timed runs per search (default 5). The batch searches are timed on the
+ * same queries unsorted and sorted.
+ */
+public class SearchBenchmark
+{
+    /**
+     * This method runs the benchmark.
+     *
+     * @param args  The optional array length, number of queries and runs.
+     */
+    public static void main(String[] args)
+    {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100_000_000;
+        int q = (args.length > 1) ? Integer.parseInt(args[1]) : 10_000_000;
+        int runs = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+
+        Random random = new Random(42);
+        long[] array = new long[n];
+        for (int i=0; i<n; i++)
+            array[i] = random.nextLong();
+        Arrays.sort(array);
+        long[] queries = new long[q];
+        for (int i=0; i<q; i++)
+            queries[i] = random.nextLong();
+
+        System.out.printf("searching %d elements by %d queries, best of %d runs:\n\n", n, q, runs);
+
+        LongBinarySearch binary = new LongBinarySearch(array);
+        LongEytzingerSearch eytzinger = new LongEytzingerSearch(array);
+        LongLearnedSearch learned = new LongLearnedSearch(array);
+
+        time("Arrays.binarySearch", queries, runs, key -> Arrays.binarySearch(array, key));
+        time("LongBinarySearch.search", queries, runs, binary::search);
+        time("LongBinarySearch.lowerBound", queries, runs, binary::lowerBound);
+        time("LongEytzingerSearch", queries, runs, eytzinger::lowerBound);
+        time("LongLearnedSearch", queries, runs, learned::lowerBound);
+        System.out.printf("%-28s %8d segments\n", "", learned.segments());
+
+        long[] sorted = queries.clone();
+        Arrays.sort(sorted);
+        System.out.println();
+        batch("searchAll unsorted", queries, runs, binary);
+        batch("searchAll sorted", sorted, runs, binary);
+    }
+
+    /**
+     * This method prints the best time per query of the runs of the batch
+     * search.
+     *
+     * @param name      The name of the search.
+     * @param queries   The keys to search for.
+     * @param runs      The number of timed runs.
+     * @param search    The search object to run.
+     */
+    static void batch(String name, long[] queries, int runs, AbstractLongSearch search)
+    {
+        long best = Long.MAX_VALUE;
+        long check = 0;
+
+        // warm up the search before timing it
+        for (int r=-1; r<runs; r++)
+        {
+            long start = System.nanoTime();
+            check += search.searchAll(queries)[queries.length - 1];
+            if (r >= 0)
+                best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %8.1f ns  (%d)\n", name, (double) best / queries.length, check & 0xFF);
+    }
+
+    /**
+     * This method prints the best time per query of the runs of the search.
+     *
+     * @param name      The name of the search.
+     * @param queries   The keys to search for.
+     * @param runs      The number of timed runs.
+     * @param search    The search to run.
+     */
+    static void time(String name, long[] queries, int runs, LongToIntFunction search)
+    {
+        long best = Long.MAX_VALUE;
+        long check = 0;
+
+        // warm up the search before timing it
+        for (int r=-1; r<runs; r++)
+        {
+            long start = System.nanoTime();
+            for (long key : queries)
+                check += search.applyAsInt(key);
+            if (r >= 0)
+                best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %8.1f ns  (%d)\n", name, (double) best / queries.length, check & 0xFF);
+    }
+}
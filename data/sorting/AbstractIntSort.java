@@ -0,0 +1,69 @@
+package data.sorting;
+
+/**
+ * A primitive sorting abstract class that implements common methods used in
+ * sorting algorithms and holds the int array of elements to be sorted.
+ */
+public abstract class AbstractIntSort implements PrimitiveSort
+{
+    public int[] array;
+
+    /**
+     * This method initializes the array associated with this object.
+     *
+     * @param array The initial array to associate with this object.
+     */
+    public void init(int[] array)
+    {
+        this.array = array;
+    }
+
+    /**
+     * This method swaps the values at positions left and right in the array.
+     *
+     * @param left  The left-side position to swap.
+     * @param right The right-side position to swap.
+     */
+    public void swap(int left, int right)
+    {
+        int value = array[right];
+        array[right] = array[left];
+        array[left] = value;
+    }
+
+    /**
+     * This method checks if the array is sorted in ascending order.
+     *
+     * @return  true if a is sorted, otherwise false;
+     */
+    public boolean isSorted()
+    {
+        for (int i=1; i<array.length; i++)
+            if (less(array[i], array[i-1]))
+                return false;
+        return true;
+    }
+
+    /**
+     * This method prints the array.
+     */
+    @Override
+    public void print()
+    {
+        for (int a : array)
+            System.out.print(a + " ");
+        System.out.println();
+    }
+
+    /**
+     * This method returns the ascending order of the two values.
+     *
+     * @param a The left-hand side value.
+     * @param b The right-hand side value.
+     * @return  true if a orders before b, otherwise false;
+     */
+    static boolean less(int a, int b)
+    {
+        return a < b;
+    }
+}
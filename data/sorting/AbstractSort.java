@@ -1,6 +1,9 @@
 package data.sorting;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * A generic sorting abstract class that implements common methods used in
@@ -11,6 +14,9 @@ import java.util.Comparator;
  */
 public abstract class AbstractSort<T> implements Sort<T>
 {
+    static final int NINTHER = 40;  // min range size for a ninther pivot
+    static final int CUTOFF = 12;   // default max range size for insertion
+
     Comparator<T> comp;
     public T[] array;
 
@@ -54,6 +60,257 @@ public abstract class AbstractSort<T> implements Sort<T>
         return true;
     }
 
+    /**
+     * This method rearranges the array so that the element at position k is
+     * the element that would be there in sorted order, with no larger
+     * elements before it and no smaller elements after it, by an introselect
+     * (quickselect with a heapsort fallback past the depth limit).
+     *
+     * @param k The position of the element to select.
+     * @return  The k-th smallest element (0-based), or null if k is invalid.
+     */
+    public T select(int k)
+    {
+        if ((k < 0) || (k >= array.length))
+        {
+            System.out.printf("ERROR! Invalid select position %d for length %d.\n", k, array.length);
+            return null;
+        }
+
+        int left = 0;
+        int right = array.length - 1;
+        int depth = QuickSort.depth(array.length);
+        while (left < right)
+        {
+            // fall back to heapsort once the depth limit is reached
+            if (depth-- == 0)
+            {
+                HeapSort.sort(array, left, right + 1, comp);
+                break;
+            }
+
+            // narrow the range to the side of the pivot holding position k
+            int[] bounds = partition(left, right);
+            int lt = bounds[0];
+            int gt = bounds[1];
+            if (k < lt)
+                right = lt - 1;
+            else if (k > gt)
+                left = gt + 1;
+            else
+                break;
+        }
+        return array[k];
+    }
+
+    /**
+     * This method sorts the k smallest elements of the array into the first
+     * k positions, leaving the remaining elements in an unspecified order,
+     * by keeping a max heap of the k smallest elements in place.
+     *
+     * @param k The number of smallest elements to sort.
+     */
+    public void partialSort(int k)
+    {
+        k = Math.min(k, array.length);
+        if (k > 0)
+        {
+            heapSelect(array, k, array, k);
+            sortHeap(array, k);
+        }
+    }
+
+    /**
+     * This method returns the first k elements of the sorted order of the
+     * array, without modifying the array, by streaming the array through a
+     * max heap of size k. Use a reversed comparator for the k largest.
+     *
+     * @param k The number of elements to return.
+     * @return  The k smallest elements in ascending order.
+     */
+    public T[] topK(int k)
+    {
+        k = Math.max(0, Math.min(k, array.length));
+        T[] heap = Arrays.copyOf(array, k);
+        if (k > 0)
+        {
+            heapSelect(heap, k, array, k);
+            sortHeap(heap, k);
+        }
+        return heap;
+    }
+
+    /**
+     * This method stably sorts the array by the long key of each element,
+     * extracting every key once instead of at every comparison. The keys are
+     * radix sorted with the positions of their elements and the array is
+     * permuted into sorted order in a single pass.
+     *
+     * @param key   The function extracting the sort key of an element.
+     */
+    public void sortByLong(ToLongFunction<T> key)
+    {
+        long[] keys = new long[array.length];
+        for (int i=0; i<array.length; i++)
+            keys[i] = key.applyAsLong(array[i]);
+        KeySort.permute(array, KeySort.order(keys));
+    }
+
+    /**
+     * This method stably sorts the array by the natural order of the key of
+     * each element, extracting every key once instead of at every comparison.
+     *
+     * @param key   The function extracting the sort key of an element.
+     * @param <K>   The type of the sort keys.
+     */
+    public <K extends Comparable<? super K>> void sortBy(Function<T, K> key)
+    {
+        sortBy(key, Comparator.naturalOrder());
+    }
+
+    /**
+     * This method stably sorts the array by the key of each element in the
+     * order of the key comparator, extracting every key once instead of at
+     * every comparison. The positions of the keys are merge sorted and the
+     * array is permuted into sorted order in a single pass.
+     *
+     * @param key       The function extracting the sort key of an element.
+     * @param keyComp   The comparator to use for ordering the keys.
+     * @param <K>       The type of the sort keys.
+     */
+    public <K> void sortBy(Function<T, K> key, Comparator<? super K> keyComp)
+    {
+        @SuppressWarnings("unchecked")
+        K[] keys = (K[]) new Object[array.length];
+        for (int i=0; i<array.length; i++)
+            keys[i] = key.apply(array[i]);
+        KeySort.permute(array, KeySort.order(keys, keyComp));
+    }
+
+    /**
+     * This method builds the first k elements of the heap into a max heap and
+     * replaces its root with each smaller element of src[from, src.length).
+     */
+    private void heapSelect(T[] heap, int k, T[] src, int from)
+    {
+        for (int i=k/2 - 1; i>=0; i--)
+            HeapSort.siftDown(heap, 0, k, i, comp);
+
+        for (int i=from; i<src.length; i++)
+        {
+            if (comp.compare(src[i], heap[0]) < 0)
+            {
+                // swap within the array, or replace the root of a copy
+                T value = src[i];
+                if (heap == src)
+                    src[i] = heap[0];
+                heap[0] = value;
+                HeapSort.siftDown(heap, 0, k, 0, comp);
+            }
+        }
+    }
+
+    /**
+     * This method sorts the max heap of the first k elements in ascending
+     * order.
+     */
+    private void sortHeap(T[] heap, int k)
+    {
+        for (int i=k - 1; i>0; i--)
+        {
+            T value = heap[i];
+            heap[i] = heap[0];
+            heap[0] = value;
+            HeapSort.siftDown(heap, 0, i, 0, comp);
+        }
+    }
+
+    /**
+     * This method partitions the range [left, right] 3-way around the pivot
+     * and returns the first and last positions of the keys equal to the
+     * pivot.
+     */
+    int[] partition(int left, int right)
+    {
+        // move the pivot to the left element
+        swap(left, pivot(left, right));
+        T pivot = array[left];
+        int lt = left;
+        int i = left + 1;
+        int gt = right;
+
+        while (i <= gt)
+        {
+            int c = comp.compare(array[i], pivot);
+
+            // move smaller elements left and larger elements right
+            if (c < 0)
+                swap(lt++, i++);
+            else if (c > 0)
+                swap(i, gt--);
+            else
+                i++;
+        }
+        return new int[] {lt, gt};
+    }
+
+    /**
+     * This method returns the position of the pivot for the range, using the
+     * median of three or Tukey's ninther for ranges of at least NINTHER.
+     */
+    private int pivot(int left, int right)
+    {
+        int mid = left + (right - left)/2;
+        if (right - left + 1 < NINTHER)
+            return median(left, mid, right);
+
+        int s = (right - left)/8;
+        return median(median(left, left + s, left + 2*s),
+                      median(mid - s, mid, mid + s),
+                      median(right - 2*s, right - s, right));
+    }
+
+    /**
+     * This method returns the position of the median of the three positions.
+     */
+    private int median(int a, int b, int c)
+    {
+        if (comp.compare(array[a], array[b]) < 0)
+        {
+            if (comp.compare(array[b], array[c]) < 0)
+                return b;
+            return (comp.compare(array[a], array[c]) < 0) ? c : a;
+        }
+        if (comp.compare(array[a], array[c]) < 0)
+            return a;
+        return (comp.compare(array[b], array[c]) < 0) ? c : b;
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of the array by a stable insertion
+     * sort.
+     *
+     * @param array The array to be sorted.
+     * @param lo    The start of the range to be sorted.
+     * @param hi    The end of the range to be sorted.
+     * @param comp  The comparator to use for sorting the array.
+     * @param <T>   The type of objects to be sorted.
+     */
+    static <T> void insertionSort(T[] array, int lo, int hi, Comparator<T> comp)
+    {
+        for (int i=lo + 1; i<hi; i++)
+        {
+            T value = array[i];
+            int j = i - 1;
+            while ((j >= lo) && (comp.compare(value, array[j]) < 0))
+            {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
     /**
      * This method prints the array.
      */
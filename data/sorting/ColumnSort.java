@@ -0,0 +1,497 @@
+package data.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A sorting class that sorts a table stored as parallel column arrays,
+ * computing one stable permutation of the rows from one or more key columns
+ * and applying it to every column, without building an object per row.
+ *
+ * The keys are added in priority order, and the permutation is refined by a
+ * stable pass per key from the last key to the first (LSD order). Int, long
+ * and double keys are radix sorted and other keys are merge sorted by their
+ * comparator. The permutation is applied to a column in place by following
+ * its cycles, or into a new column by a gather. With a pool, the comparator
+ * passes are sorted by fork/join tasks and the columns are permuted in
+ * parallel.
+ *
+ *  Worst-case performance: O(k*n)          [k numeric keys]
+ *                          O(k*n*log(n))   [k comparator keys]
+ *
+ *  Worst-case complexity:  O(n)            [auxiliary, per key]
+ */
+public class ColumnSort
+{
+    public static final int THRESHOLD = 8192;   // default sequential cutoff
+
+    private int rows;                          // the number of rows of the table
+    private List<Object> keys;                 // the key columns in priority order
+    private List<Comparator<Object>> comps;    // the key comparators (null if numeric)
+    private ForkJoinPool pool;                 // the pool that runs the tasks, or null
+    private int threshold;                     // the max range size sorted sequentially
+
+    /**
+     * The constructor for a sequential column sort object.
+     *
+     * @param rows  The number of rows of the table.
+     */
+    public ColumnSort(int rows)
+    {
+        this(rows, null, THRESHOLD);
+    }
+
+    /**
+     * The constructor for a parallel column sort object.
+     *
+     * @param rows      The number of rows of the table.
+     * @param pool      The pool to run the tasks on (null for sequential).
+     * @param threshold The max range size to sort sequentially.
+     */
+    public ColumnSort(int rows, ForkJoinPool pool, int threshold)
+    {
+        this.rows = rows;
+        this.keys = new ArrayList<>();
+        this.comps = new ArrayList<>();
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * This method adds an int key column, ordered ascending after the keys
+     * already added.
+     *
+     * @param column    The key column.
+     */
+    public void addKey(int[] column)
+    {
+        addKey(column, column.length, null);
+    }
+
+    /**
+     * This method adds a long key column, ordered ascending after the keys
+     * already added.
+     *
+     * @param column    The key column.
+     */
+    public void addKey(long[] column)
+    {
+        addKey(column, column.length, null);
+    }
+
+    /**
+     * This method adds a double key column, ordered ascending as by
+     * Double.compare() after the keys already added.
+     *
+     * @param column    The key column.
+     */
+    public void addKey(double[] column)
+    {
+        addKey(column, column.length, null);
+    }
+
+    /**
+     * This method adds a string key column, ordered by the natural order of
+     * strings after the keys already added.
+     *
+     * @param column    The key column.
+     */
+    public void addKey(String[] column)
+    {
+        addKey(column, column.length, Comparator.naturalOrder());
+    }
+
+    /**
+     * This method adds a key column ordered by the comparator after the keys
+     * already added.
+     *
+     * @param column    The key column.
+     * @param comp      The comparator to use for ordering the keys.
+     * @param <T>       The type of the keys.
+     */
+    public <T> void addKey(T[] column, Comparator<? super T> comp)
+    {
+        addKey(column, column.length, comp);
+    }
+
+    /**
+     * This method adds the key column if it has a value for every row.
+     */
+    @SuppressWarnings("unchecked")
+    private void addKey(Object column, int length, Comparator<?> comp)
+    {
+        if (length != rows)
+        {
+            System.out.printf("ERROR! Key column length %d does not match %d rows.\n", length, rows);
+            return;
+        }
+        keys.add(column);
+        comps.add((Comparator<Object>) comp);
+    }
+
+    /**
+     * This method returns the stable sorted order of the rows by the key
+     * columns, so that sorted row i is the row order[i] of the table. Rows
+     * with equal keys keep their table order.
+     *
+     * @return  The rows of the table in sorted order.
+     */
+    public int[] order()
+    {
+        int[] order = new int[rows];
+        for (int i=0; i<rows; i++)
+            order[i] = i;
+
+        // refine the order by each key from the least significant key
+        for (int k=keys.size() - 1; k>=0; k--)
+        {
+            Object column = keys.get(k);
+            int[] pos = (comps.get(k) == null) ? radixPass(column, order) : mergePass(column, comps.get(k), order);
+            for (int i=0; i<rows; i++)
+                pos[i] = order[pos[i]];
+            order = pos;
+        }
+        return order;
+    }
+
+    /**
+     * This method sorts the table by the key columns, permuting each of the
+     * columns in place (in parallel with a pool), and returns the order.
+     * The key columns are only permuted if they are included.
+     *
+     * The first column is a separate parameter, so that a single object
+     * array column, such as sort(names), is taken as one column rather than
+     * as the array of columns.
+     *
+     * @param column    The first int[], long[], double[] or object array column.
+     * @param columns   The other int[], long[], double[] or object array columns.
+     * @return  The rows of the table in sorted order.
+     */
+    public int[] sort(Object column, Object... columns)
+    {
+        int[] order = order();
+        if ((pool == null) || (columns.length == 0))
+        {
+            apply(order, column);
+            for (Object c : columns)
+                apply(order, c);
+        }
+        else
+        {
+            // permute each column as a task
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(columns.length + 1);
+            tasks.add(pool.submit(() -> apply(order, column)));
+            for (Object c : columns)
+                tasks.add(pool.submit(() -> apply(order, c)));
+            for (ForkJoinTask<?> task : tasks)
+                task.join();
+        }
+        return order;
+    }
+
+    /**
+     * This method returns the order of the key positions of the numeric
+     * column, taken in the current order, by a radix sort.
+     */
+    private int[] radixPass(Object column, int[] order)
+    {
+        long[] k = new long[rows];
+        if (column instanceof int[])
+        {
+            // map the ints to 32-bit unsigned order, so the high digit
+            // passes are skipped
+            int[] c = (int[]) column;
+            for (int i=0; i<rows; i++)
+                k[i] = ((c[order[i]] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL) ^ Long.MIN_VALUE;
+        }
+        else if (column instanceof long[])
+        {
+            long[] c = (long[]) column;
+            for (int i=0; i<rows; i++)
+                k[i] = c[order[i]];
+        }
+        else
+        {
+            double[] c = (double[]) column;
+            for (int i=0; i<rows; i++)
+                k[i] = DoubleRadixSort.key(c[order[i]]) ^ Long.MIN_VALUE;
+        }
+        return KeySort.order(k);
+    }
+
+    /**
+     * This method returns the order of the key positions of the column,
+     * taken in the current order, by a (parallel) mergesort.
+     */
+    private int[] mergePass(Object column, Comparator<Object> comp, int[] order)
+    {
+        Object[] c = (Object[]) column;
+        Object[] k = new Object[rows];
+        for (int i=0; i<rows; i++)
+            k[i] = c[order[i]];
+
+        if ((pool == null) || (rows <= threshold))
+            return KeySort.order(k, comp);
+
+        int[] pos = new int[rows];
+        for (int i=0; i<rows; i++)
+            pos[i] = i;
+        pool.invoke(new SortTask(k, comp, pos, new int[rows], 0, rows));
+        return pos;
+    }
+
+    /**
+     * A task that sorts the positions index[lo, hi) by their keys.
+     */
+    private class SortTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] keys;
+        private final Comparator<Object> comp;
+        private final int[] index;
+        private final int[] buffer;
+        private final int lo;
+        private final int hi;
+
+        SortTask(Object[] keys, Comparator<Object> comp, int[] index, int[] buffer, int lo, int hi)
+        {
+            this.keys = keys;
+            this.comp = comp;
+            this.index = index;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (hi - lo <= threshold)
+            {
+                KeySort.sort(keys, index, buffer, lo, hi, comp);
+                return;
+            }
+
+            // sort the halves in parallel
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(keys, comp, index, buffer, lo, mid),
+                      new SortTask(keys, comp, index, buffer, mid, hi));
+
+            // merge the halves through the buffer
+            KeySort.merge(keys, index, buffer, lo, mid, hi, comp);
+            System.arraycopy(buffer, lo, index, lo, hi - lo);
+        }
+    }
+
+    /**
+     * This method permutes the column in place into the order.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The int[], long[], double[] or object array column.
+     */
+    public static void apply(int[] order, Object column)
+    {
+        if (column instanceof int[])
+            apply(order, (int[]) column);
+        else if (column instanceof long[])
+            apply(order, (long[]) column);
+        else if (column instanceof double[])
+            apply(order, (double[]) column);
+        else if (column instanceof Object[])
+            apply(order, (Object[]) column);
+        else
+            System.out.println("ERROR! Unsupported column type.");
+    }
+
+    /**
+     * This method permutes the column in place into the order, moving each
+     * value once by following the cycles of the order. The order is not
+     * modified, so columns can be permuted concurrently.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be permuted.
+     */
+    public static void apply(int[] order, int[] column)
+    {
+        long[] done = new long[(order.length + 63) >>> 6];
+        for (int i=0; i<order.length; i++)
+        {
+            if ((done[i >>> 6] & (1L << i)) != 0)
+                continue;
+
+            int value = column[i];
+            int j = i;
+            int k;
+            while ((k = order[j]) != i)
+            {
+                column[j] = column[k];
+                done[j >>> 6] |= 1L << j;
+                j = k;
+            }
+            column[j] = value;
+            done[j >>> 6] |= 1L << j;
+        }
+    }
+
+    /**
+     * This method permutes the column in place into the order, moving each
+     * value once by following the cycles of the order. The order is not
+     * modified, so columns can be permuted concurrently.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be permuted.
+     */
+    public static void apply(int[] order, long[] column)
+    {
+        long[] done = new long[(order.length + 63) >>> 6];
+        for (int i=0; i<order.length; i++)
+        {
+            if ((done[i >>> 6] & (1L << i)) != 0)
+                continue;
+
+            long value = column[i];
+            int j = i;
+            int k;
+            while ((k = order[j]) != i)
+            {
+                column[j] = column[k];
+                done[j >>> 6] |= 1L << j;
+                j = k;
+            }
+            column[j] = value;
+            done[j >>> 6] |= 1L << j;
+        }
+    }
+
+    /**
+     * This method permutes the column in place into the order, moving each
+     * value once by following the cycles of the order. The order is not
+     * modified, so columns can be permuted concurrently.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be permuted.
+     */
+    public static void apply(int[] order, double[] column)
+    {
+        long[] done = new long[(order.length + 63) >>> 6];
+        for (int i=0; i<order.length; i++)
+        {
+            if ((done[i >>> 6] & (1L << i)) != 0)
+                continue;
+
+            double value = column[i];
+            int j = i;
+            int k;
+            while ((k = order[j]) != i)
+            {
+                column[j] = column[k];
+                done[j >>> 6] |= 1L << j;
+                j = k;
+            }
+            column[j] = value;
+            done[j >>> 6] |= 1L << j;
+        }
+    }
+
+    /**
+     * This method permutes the column in place into the order, moving each
+     * value once by following the cycles of the order. The order is not
+     * modified, so columns can be permuted concurrently.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be permuted.
+     * @param <T>       The type of the column values.
+     */
+    public static <T> void apply(int[] order, T[] column)
+    {
+        long[] done = new long[(order.length + 63) >>> 6];
+        for (int i=0; i<order.length; i++)
+        {
+            if ((done[i >>> 6] & (1L << i)) != 0)
+                continue;
+
+            T value = column[i];
+            int j = i;
+            int k;
+            while ((k = order[j]) != i)
+            {
+                column[j] = column[k];
+                done[j >>> 6] |= 1L << j;
+                j = k;
+            }
+            column[j] = value;
+            done[j >>> 6] |= 1L << j;
+        }
+    }
+
+    /**
+     * This method returns a new column holding the values of the column in
+     * the order.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be gathered.
+     * @return  The sorted column.
+     */
+    public static int[] gather(int[] order, int[] column)
+    {
+        int[] sorted = new int[order.length];
+        for (int i=0; i<order.length; i++)
+            sorted[i] = column[order[i]];
+        return sorted;
+    }
+
+    /**
+     * This method returns a new column holding the values of the column in
+     * the order.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be gathered.
+     * @return  The sorted column.
+     */
+    public static long[] gather(int[] order, long[] column)
+    {
+        long[] sorted = new long[order.length];
+        for (int i=0; i<order.length; i++)
+            sorted[i] = column[order[i]];
+        return sorted;
+    }
+
+    /**
+     * This method returns a new column holding the values of the column in
+     * the order.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be gathered.
+     * @return  The sorted column.
+     */
+    public static double[] gather(int[] order, double[] column)
+    {
+        double[] sorted = new double[order.length];
+        for (int i=0; i<order.length; i++)
+            sorted[i] = column[order[i]];
+        return sorted;
+    }
+
+    /**
+     * This method returns a new column holding the values of the column in
+     * the order.
+     *
+     * @param order     The rows in sorted order.
+     * @param column    The column to be gathered.
+     * @param <T>       The type of the column values.
+     * @return  The sorted column.
+     */
+    public static <T> T[] gather(int[] order, T[] column)
+    {
+        T[] sorted = Arrays.copyOf(column, order.length);
+        for (int i=0; i<order.length; i++)
+            sorted[i] = column[order[i]];
+        return sorted;
+    }
+}
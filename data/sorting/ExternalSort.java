@@ -0,0 +1,480 @@
+package data.sorting;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A sorting class that implements a stable external mergesort for record
+ * streams larger than the heap.
+ *
+ * The records are read in runs of up to runSize records, each run is sorted
+ * in memory by the MergeSort range sort and written to a temporary file, and
+ * the runs are merged by a loser tree of up to fanIn runs at a time until a
+ * single merge streams the sorted records to the output. Records are written
+ * to the run files by a Codec, and equal records keep their input order.
+ *
+ *  Worst-case performance: O(n*log(n))
+ *
+ *  Worst-case complexity:  O(runSize)      [memory]
+ *                          O(n)            [temporary files]
+ *
+ *  I/O passes:             1 + ceil(log_fanIn(n/runSize))
+ *
+ * @param <T>   The type of records to be sorted.
+ */
+public class ExternalSort<T>
+{
+    public static final int RUN_SIZE = 1 << 20;     // default records per run
+    public static final int FAN_IN = 64;            // default runs per merge
+    static final int BUFFER_SIZE = 1 << 16;         // the file buffer size
+
+    /**
+     * A codec that reads and writes records of type T to the run files.
+     *
+     * @param <T>   The type of records to be encoded.
+     */
+    public interface Codec<T>
+    {
+        /**
+         * This method writes the record to the output.
+         *
+         * @param out   The output to write to.
+         * @param value The record to be written.
+         * @throws IOException  If the record cannot be written.
+         */
+        void write(DataOutput out, T value) throws IOException;
+
+        /**
+         * This method reads the next record from the input.
+         *
+         * @param in    The input to read from.
+         * @return  The record read.
+         * @throws IOException  If the record cannot be read.
+         */
+        T read(DataInput in) throws IOException;
+    }
+
+    /**
+     * A codec for strings of any length as UTF-8 bytes.
+     */
+    public static final Codec<String> STRINGS = new Codec<String>()
+    {
+        public void write(DataOutput out, String value) throws IOException
+        {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        public String read(DataInput in) throws IOException
+        {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * A consumer of merged records that can fail with an IOException.
+     */
+    private interface Sink<T>
+    {
+        void accept(T value) throws IOException;
+    }
+
+    private Comparator<T> comp;     // the comparator for sorting the records
+    private Codec<T> codec;         // the codec for the run files
+    private int runSize;            // the max records sorted in memory
+    private int fanIn;              // the max runs merged at a time
+    private File tempDir;           // the directory of the run files
+
+    /**
+     * The constructor for an external sort object with the default run size
+     * and fan-in, writing runs to the default temporary directory.
+     *
+     * @param comp  The comparator to use for sorting the records.
+     * @param codec The codec to use for the run files.
+     */
+    public ExternalSort(Comparator<T> comp, Codec<T> codec)
+    {
+        this(comp, codec, RUN_SIZE, FAN_IN, null);
+    }
+
+    /**
+     * The constructor for an external sort object.
+     *
+     * @param comp      The comparator to use for sorting the records.
+     * @param codec     The codec to use for the run files.
+     * @param runSize   The max number of records sorted in memory.
+     * @param fanIn     The max number of runs merged at a time (at least 2).
+     * @param tempDir   The directory of the run files (null for the default).
+     */
+    public ExternalSort(Comparator<T> comp, Codec<T> codec, int runSize, int fanIn, File tempDir)
+    {
+        this.comp = comp;
+        this.codec = codec;
+        this.runSize = Math.max(runSize, 1);
+        this.fanIn = Math.max(fanIn, 2);
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * This method sorts the records of the input and passes them to the
+     * output in ascending order.
+     *
+     * @param input     The records to be sorted.
+     * @param output    The consumer of the sorted records.
+     * @throws IOException  If a run file cannot be written or read.
+     */
+    public void sort(Iterator<T> input, Consumer<T> output) throws IOException
+    {
+        List<File> runs = new ArrayList<>();
+        try
+        {
+            // sort the input in memory-sized runs
+            @SuppressWarnings("unchecked")
+            T[] array = (T[]) new Object[runSize];
+            @SuppressWarnings("unchecked")
+            T[] buffer = (T[]) new Object[runSize];
+            while (input.hasNext())
+            {
+                int n = 0;
+                while ((n < runSize) && input.hasNext())
+                    array[n++] = input.next();
+                MergeSort.sort(array, buffer, 0, n, comp);
+
+                // pass a single run straight to the output
+                if (runs.isEmpty() && !input.hasNext())
+                {
+                    for (int i=0; i<n; i++)
+                        output.accept(array[i]);
+                    return;
+                }
+                runs.add(writeRun(array, n));
+                Arrays.fill(array, 0, n, null);
+            }
+            array = null;
+            buffer = null;
+
+            // merge groups of runs until a single merge remains
+            while (runs.size() > fanIn)
+            {
+                List<File> merged = new ArrayList<>();
+                try
+                {
+                    for (int i=0; i<runs.size(); i+=fanIn)
+                    {
+                        List<File> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                        merged.add((group.size() == 1) ? group.get(0) : mergeRuns(group));
+                    }
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    // delete the runs merged so far in the failed pass
+                    for (File run : merged)
+                        if (!runs.contains(run))
+                            run.delete();
+                    throw e;
+                }
+                for (File run : runs)
+                    if (!merged.contains(run))
+                        run.delete();
+                runs = merged;
+            }
+
+            // stream the final merge to the output
+            merge(runs, output::accept);
+        }
+        finally
+        {
+            for (File run : runs)
+                run.delete();
+        }
+    }
+
+    /**
+     * This method sorts the rows of a csv file by the specified column and
+     * writes them, below the title line, to the sorted csv file. The sorted
+     * file ends with the EOF line that CSV.readCSV() stops at.
+     *
+     * @param filename          The name of the csv file to be sorted.
+     * @param sortedFilename    The name of the sorted csv file to write.
+     * @param col               The column to sort the rows by.
+     * @param comp              The comparator for the column values.
+     * @throws IOException  If a file cannot be read or written.
+     */
+    public static void sortCSV(String filename, String sortedFilename, int col, Comparator<String> comp)
+            throws IOException
+    {
+        ExternalSort<String> sort = new ExternalSort<>(Comparator.comparing((String row) -> cell(row, col), comp), STRINGS);
+
+        try (BufferedReader in = new BufferedReader(new FileReader(filename), BUFFER_SIZE);
+             BufferedWriter out = new BufferedWriter(new FileWriter(sortedFilename), BUFFER_SIZE))
+        {
+            // copy the title line
+            String title = in.readLine();
+            if (title == null)
+                return;
+            out.write(title);
+            out.newLine();
+
+            // sort the rows up to the EOF line
+            Iterator<String> rows = in.lines().takeWhile(line -> !line.equals("EOF")).iterator();
+            IOException[] error = new IOException[1];
+            sort.sort(rows, row -> {
+                if (error[0] == null)
+                {
+                    try
+                    {
+                        out.write(row);
+                        out.newLine();
+                    }
+                    catch (IOException e)
+                    {
+                        error[0] = e;
+                    }
+                }
+            });
+            if (error[0] != null)
+                throw error[0];
+            out.write("EOF");
+            out.newLine();
+        }
+    }
+
+    /**
+     * This method returns the value of the specified column of a csv row.
+     */
+    static String cell(String row, int col)
+    {
+        int start = 0;
+        for (int i=0; i<col; i++)
+        {
+            start = row.indexOf(',', start) + 1;
+            if (start == 0)
+                return "";
+        }
+        int end = row.indexOf(',', start);
+        return (end < 0) ? row.substring(start) : row.substring(start, end);
+    }
+
+    /**
+     * This method writes the first n records of the sorted array to a new
+     * run file.
+     */
+    private File writeRun(T[] array, int n) throws IOException
+    {
+        File run = File.createTempFile("sort", ".run", tempDir);
+        try (DataOutputStream out = open(run))
+        {
+            out.writeLong(n);
+            for (int i=0; i<n; i++)
+                codec.write(out, array[i]);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            run.delete();
+            throw e;
+        }
+        return run;
+    }
+
+    /**
+     * This method merges the group of runs into a new run file.
+     */
+    private File mergeRuns(List<File> group) throws IOException
+    {
+        File run = File.createTempFile("sort", ".run", tempDir);
+        try
+        {
+            long count = 0;
+            for (File f : group)
+                try (DataInputStream in = new DataInputStream(new FileInputStream(f)))
+                {
+                    count += in.readLong();
+                }
+
+            try (DataOutputStream out = open(run))
+            {
+                out.writeLong(count);
+                merge(group, value -> codec.write(out, value));
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            run.delete();
+            throw e;
+        }
+        return run;
+    }
+
+    /**
+     * This method opens a buffered output stream to the run file.
+     */
+    private static DataOutputStream open(File run) throws IOException
+    {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run), BUFFER_SIZE));
+    }
+
+    /**
+     * This method merges the sorted runs by a loser tree and passes the
+     * records to the sink in ascending order.
+     */
+    private void merge(List<File> files, Sink<T> sink) throws IOException
+    {
+        List<Run> runs = new ArrayList<>(files.size());
+        try
+        {
+            for (File file : files)
+                runs.add(new Run(file));
+
+            LoserTree tree = new LoserTree(runs);
+            int winner;
+            while ((winner = tree.winner()) >= 0)
+            {
+                Run run = runs.get(winner);
+                sink.accept(run.head);
+                run.advance();
+                tree.replay(winner);
+            }
+        }
+        finally
+        {
+            for (Run run : runs)
+                run.in.close();
+        }
+    }
+
+    /**
+     * A sorted run file being read one record at a time.
+     */
+    private class Run
+    {
+        final DataInputStream in;   // the run file input
+        long remaining;             // the records left after the head
+        T head;                     // the current record
+        boolean done;               // true once the run is exhausted
+
+        Run(File file) throws IOException
+        {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            remaining = in.readLong();
+            advance();
+        }
+
+        void advance() throws IOException
+        {
+            if (remaining > 0)
+            {
+                head = codec.read(in);
+                remaining--;
+            }
+            else
+            {
+                head = null;
+                done = true;
+            }
+        }
+    }
+
+    /**
+     * A tournament tree over k runs, where each internal node holds the loser
+     * of the match played there and node 0 holds the overall winner, so that
+     * replacing the winner replays only the log(k) matches on its path.
+     */
+    private class LoserTree
+    {
+        final List<Run> runs;   // the runs at the leaves
+        final int[] tree;       // the losers of the matches (winner at 0)
+        final int k;            // the number of runs
+
+        LoserTree(List<Run> runs)
+        {
+            this.runs = runs;
+            this.k = runs.size();
+            this.tree = new int[Math.max(k, 1)];
+            if (k > 0)
+                tree[0] = build(1);
+        }
+
+        /**
+         * This method plays the matches below the node and returns the winner.
+         */
+        private int build(int node)
+        {
+            if (node >= k)
+                return node - k;
+            int a = build(2*node);
+            int b = build(2*node + 1);
+            if (beats(a, b))
+            {
+                tree[node] = b;
+                return a;
+            }
+            tree[node] = a;
+            return b;
+        }
+
+        /**
+         * This method returns the run with the smallest head, or -1 once all
+         * of the runs are exhausted.
+         */
+        int winner()
+        {
+            return ((k == 0) || runs.get(tree[0]).done) ? -1 : tree[0];
+        }
+
+        /**
+         * This method replays the matches on the path of the advanced run.
+         */
+        void replay(int run)
+        {
+            int winner = run;
+            for (int node=(run + k)/2; node>0; node/=2)
+            {
+                if (beats(tree[node], winner))
+                {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        /**
+         * This method returns true if the head of run a orders before the
+         * head of run b, breaking ties by run order to keep the merge stable.
+         */
+        private boolean beats(int a, int b)
+        {
+            Run ra = runs.get(a);
+            Run rb = runs.get(b);
+            if (ra.done)
+                return false;
+            if (rb.done)
+                return true;
+            int c = comp.compare(ra.head, rb.head);
+            return (c < 0) || ((c == 0) && (a < b));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package data.sorting;
+
+/**
+ * A sorting class that implements a least-significant-digit (LSD) radix sort
+ * on an array of primitive float values.
+ *
+ * The values are distributed by 8-bit digits from the lowest to the highest
+ * byte of the value bits, flipped so that negative values order first. The
+ * digit counts of every pass are gathered in one scan, passes where all of
+ * the values share a digit are skipped, and the values are scattered back and
+ * forth between the array and a single auxiliary buffer.
+ *
+ *  Worst-case performance: O(w*n)          [w = 4 digit passes]
+ *  Best-case performance:  O(n)            [equal high digits]
+ *
+ *  Average performance:    O(w*n)
+ *
+ *  Worst-case complexity:  O(n)            [auxiliary]
+ */
+public class FloatRadixSort extends AbstractFloatSort
+{
+    static final int BITS = 8;                  // the bits per digit
+    static final int RADIX = 1 << BITS;         // the number of digit values
+    static final int MASK = RADIX - 1;          // the digit mask
+    static final int PASSES = 32 / BITS;        // the number of digit passes
+
+    private float[] buffer;   // the reusable auxiliary scatter buffer
+
+    /**
+     * The constructor for a radix sort object.
+     *
+     * @param array The initial array to associate with this object.
+     */
+    public FloatRadixSort(float[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * The constructor for a radix sort object with a caller-supplied scatter
+     * buffer.
+     *
+     * @param array     The initial array to associate with this object.
+     * @param buffer    The auxiliary buffer of at least array.length elements.
+     */
+    public FloatRadixSort(float[] array, float[] buffer)
+    {
+        init(array);
+        setBuffer(buffer);
+    }
+
+    /**
+     * This method sets the auxiliary buffer used for scattering. A buffer
+     * that is null or shorter than the array is replaced on the next sort.
+     *
+     * @param buffer    The auxiliary buffer to scatter through.
+     */
+    public void setBuffer(float[] buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    /**
+     * This method performs a radix sort on the array.
+     */
+    public void sort()
+    {
+        int n = array.length;
+        if (n < 2)
+            return;
+        if ((buffer == null) || (buffer.length < n))
+            buffer = new float[n];
+
+        // count the digits of every pass in one scan
+        int[][] count = new int[PASSES][RADIX];
+        for (int i=0; i<n; i++)
+        {
+            int key = key(array[i]);
+            for (int p=0; p<PASSES; p++)
+                count[p][(key >>> (p*BITS)) & MASK]++;
+        }
+
+        // scatter the values by each digit between the array and the buffer
+        float[] src = array;
+        float[] dst = buffer;
+        for (int p=0; p<PASSES; p++)
+        {
+            int[] c = count[p];
+            int shift = p*BITS;
+
+            // skip the pass if all of the values share the digit
+            if (c[(key(src[0]) >>> shift) & MASK] == n)
+                continue;
+
+            // convert the counts to starting positions
+            int sum = 0;
+            for (int d=0; d<RADIX; d++)
+            {
+                int t = c[d];
+                c[d] = sum;
+                sum += t;
+            }
+
+            for (int i=0; i<n; i++)
+            {
+                float value = src[i];
+                dst[c[(key(value) >>> shift) & MASK]++] = value;
+            }
+
+            float[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+
+        // copy the result back if the last pass ended in the buffer
+        if (src != array)
+            System.arraycopy(src, 0, array, 0, n);
+    }
+
+    /**
+     * This method returns the unsigned-order radix key of the value. The
+     * sign bit of positive values is flipped and all of the bits of negative
+     * values are flipped, which orders the keys as Float.compare() orders the
+     * values.
+     *
+     * @param value The value to convert.
+     * @return  The flipped bits of the value.
+     */
+    static int key(float value)
+    {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+    }
+}
@@ -3,7 +3,13 @@ package data.sorting;
 import java.util.Comparator;
 
 /**
- * A sorting class that implements the heapsort algorithm.
+ * A sorting class that implements an iterative, in-place heapsort algorithm.
+ *
+ * The array is built into a max heap and the root is swapped to the end of
+ * the shrinking heap, which leaves the caller's array in ascending order. The
+ * optional bottom-up (Floyd) sift-down descends to a leaf along the larger
+ * children and climbs back to the position of the sifted element, which
+ * takes about half of the comparisons of the standard sift-down.
  *
  *  Worst-case performance: O(n*log(n))
  *  Best-case performance:  O(n*log(n))     [distinct keys]
@@ -16,6 +22,8 @@ import java.util.Comparator;
  */
 public class HeapSort<T> extends AbstractSort<T> implements Sort<T>
 {
+    private boolean bottomUp;   // true to sift down bottom-up (Floyd)
+
     /**
      * The constructor for a heapsort object.
      *
@@ -23,8 +31,21 @@ public class HeapSort<T> extends AbstractSort<T> implements Sort<T>
      * @param comp  The comparator to use for sorting the array.
      */
     public HeapSort(T[] array, Comparator<T> comp)
+    {
+        this(array, comp, false);
+    }
+
+    /**
+     * The constructor for a heapsort object with the specified sift-down.
+     *
+     * @param array     The initial array to associate with this object.
+     * @param comp      The comparator to use for sorting the array.
+     * @param bottomUp  true to sift down bottom-up (Floyd), otherwise false.
+     */
+    public HeapSort(T[] array, Comparator<T> comp, boolean bottomUp)
     {
         init(array, comp);
+        this.bottomUp = bottomUp;
     }
 
     /**
@@ -33,55 +54,113 @@ public class HeapSort<T> extends AbstractSort<T> implements Sort<T>
     public void sort()
     {
         if (array.length > 1)
+            sort(array, 0, array.length, comp, bottomUp);
+    }
+
+    /**
+     * This method performs an iterative heapsort on the range [lo, hi) of the
+     * array.
+     *
+     * @param array The array to be sorted.
+     * @param lo    The start of the range to be sorted.
+     * @param hi    The end of the range to be sorted.
+     * @param comp  The comparator to use for sorting the array.
+     * @param <T>   The type of objects to be sorted.
+     */
+    static <T> void sort(T[] array, int lo, int hi, Comparator<T> comp)
+    {
+        sort(array, lo, hi, comp, false);
+    }
+
+    /**
+     * This method performs an iterative heapsort on the range [lo, hi) of the
+     * array with the specified sift-down.
+     *
+     * @param array     The array to be sorted.
+     * @param lo        The start of the range to be sorted.
+     * @param hi        The end of the range to be sorted.
+     * @param comp      The comparator to use for sorting the array.
+     * @param bottomUp  true to sift down bottom-up (Floyd), otherwise false.
+     * @param <T>       The type of objects to be sorted.
+     */
+    static <T> void sort(T[] array, int lo, int hi, Comparator<T> comp, boolean bottomUp)
+    {
+        int n = hi - lo;
+
+        // build the max heap from the range [O(n)]
+        for (int i=n/2 - 1; i>=0; i--)
+            siftDown(array, lo, n, i, comp);
+
+        // extract elements (one-by-one) from the heap
+        for (int i=n - 1; i>0; i--)
         {
-            // build the max heap from the array [O(n)]
-            for (int i=array.length/2 - 1; i>=0; i--)
-                heapify(array.length, i);
-
-            // extract elements (one-by-one) from the heap
-            for (int i=array.length - 1; i>=0; i--)
-            {
-                // swap current root with end
-                swap(i, 0);
-
-                // heapify the reduced heap
-                heapify(i, 0);
-            }
+            // swap current root with end
+            T value = array[lo + i];
+            array[lo + i] = array[lo];
+            array[lo] = value;
+
+            // sift the new root down the reduced heap
+            if (bottomUp)
+                siftBottomUp(array, lo, i, 0, comp);
+            else
+                siftDown(array, lo, i, 0, comp);
         }
-        reverse();
     }
 
     /**
-     * This method builds the initial heap.
+     * This method sifts the element at the position down the heap of the
+     * specified size, rooted at lo, until the max heap property holds.
      */
-    private void heapify(int size, int pos)
+    static <T> void siftDown(T[] array, int lo, int size, int pos, Comparator<T> comp)
     {
-        int max = pos;
-        int l = 2*pos + 1;
-        int r = 2*pos + 2;
-
-        // update max position
-        if ((l < size) && (comp.compare(array[l], array[max]) > 0))
-            max = l;
-        if ((r < size) && (comp.compare(array[r], array[max]) > 0))
-            max = r;
-
-        // recursive swap and heapify until max is root
-        if (max != pos)
+        T value = array[lo + pos];
+        int child;
+
+        while ((child = 2*pos + 1) < size)
         {
-            swap(max, pos);
-            heapify(size, max);
+            // select the larger child
+            if ((child + 1 < size) && (comp.compare(array[lo + child], array[lo + child + 1]) < 0))
+                child++;
+
+            // stop once the value is not smaller than the larger child
+            if (comp.compare(value, array[lo + child]) >= 0)
+                break;
+
+            array[lo + pos] = array[lo + child];
+            pos = child;
         }
+        array[lo + pos] = value;
     }
 
     /**
-     * This method reverses the heap-sorted array.
+     * This method sifts the element at the position down the heap of the
+     * specified size, rooted at lo, by moving the larger children up to a
+     * leaf and then climbing back up until the max heap property holds.
      */
-    private void reverse()
+    private static <T> void siftBottomUp(T[] array, int lo, int size, int pos, Comparator<T> comp)
     {
-        T[] rev = (T[]) new Object[array.length];
-        for (int i=0; i<array.length; i++)
-            rev[i] = array[array.length - i - 1];
-        array = rev;
+        T value = array[lo + pos];
+        int start = pos;
+        int child;
+
+        // descend to a leaf along the larger children
+        while ((child = 2*pos + 1) < size)
+        {
+            if ((child + 1 < size) && (comp.compare(array[lo + child], array[lo + child + 1]) < 0))
+                child++;
+            array[lo + pos] = array[lo + child];
+            pos = child;
+        }
+
+        // climb back up while the parent is smaller than the value
+        while (pos > start)
+        {
+            int parent = (pos - 1)/2;
+            if (comp.compare(array[lo + parent], value) >= 0)
+                break;
+            array[lo + pos] = array[lo + parent];
+            pos = parent;
+        }
+        array[lo + pos] = value;
     }
 }
@@ -0,0 +1,88 @@
+package data.sorting;
+
+/**
+ * A sorting class that implements the heapsort algorithm on an array of
+ * primitive int values.
+ *
+ *  Worst-case performance: O(n*log(n))
+ *  Best-case performance:  O(n*log(n))     [distinct keys]
+ *                          O(n)            [equal keys]
+ *
+ *  Average performance:    O(n*log(n))
+ *
+ *  Worst-case complexity:  O(1)            [auxiliary]
+ */
+public class IntHeapSort extends AbstractIntSort
+{
+    /**
+     * The constructor for a heapsort object.
+     *
+     * @param array The initial array to associate with this object.
+     */
+    public IntHeapSort(int[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * This method performs a heapsort on the array.
+     */
+    public void sort()
+    {
+        if (array.length > 1)
+            sort(array, 0, array.length);
+    }
+
+    /**
+     * This method performs a heapsort on the range [lo, hi) of the array.
+     *
+     * @param array The array to be sorted.
+     * @param lo    The start of the range to be sorted.
+     * @param hi    The end of the range to be sorted.
+     */
+    static void sort(int[] array, int lo, int hi)
+    {
+        int n = hi - lo;
+
+        // build the max heap from the range [O(n)]
+        for (int i=n/2 - 1; i>=0; i--)
+            heapify(array, lo, n, i);
+
+        // extract elements (one-by-one) from the heap
+        for (int i=n - 1; i>0; i--)
+        {
+            // swap current root with end
+            int value = array[lo + i];
+            array[lo + i] = array[lo];
+            array[lo] = value;
+
+            // heapify the reduced heap
+            heapify(array, lo, i, 0);
+        }
+    }
+
+    /**
+     * This method sifts the value at the position down the heap of the
+     * specified size, rooted at lo, until the max heap property holds.
+     */
+    private static void heapify(int[] array, int lo, int size, int pos)
+    {
+        int value = array[lo + pos];
+        int child;
+
+        while ((child = 2*pos + 1) < size)
+        {
+            // select the larger child
+            if ((child + 1 < size) && less(array[lo + child], array[lo + child + 1]))
+                child++;
+
+            // stop once the value is not smaller than the larger child
+            if (!less(value, array[lo + child]))
+                break;
+
+            array[lo + pos] = array[lo + child];
+            pos = child;
+        }
+        array[lo + pos] = value;
+    }
+}
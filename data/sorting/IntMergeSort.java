@@ -0,0 +1,127 @@
+package data.sorting;
+
+/**
+ * A sorting class that implements the mergesort algorithm on an array of
+ * primitive int values, using a single auxiliary buffer for every merge.
+ * The buffer is kept by the object, or can be supplied by the caller, so that
+ * repeated sorts allocate nothing, and ranges of at most the cutoff are sorted
+ * by a sorting network or insertion sort.
+ *
+ *  Worst-case performance: O(n*log(n))
+ *  Best-case performance:  O(n)            [presorted halves skip merging]
+ *
+ *  Average performance:    O(n*log(n))
+ *
+ *  Worst-case complexity:  O(n)            [auxiliary]
+ */
+public class IntMergeSort extends AbstractIntSort
+{
+    private int[] buffer;                   // the reusable merge buffer
+    private int cutoff = SmallSort.CUTOFF;  // max range size of the leaf sort
+
+    /**
+     * The constructor for a mergesort object.
+     *
+     * @param array The initial array to associate with this object.
+     */
+    public IntMergeSort(int[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * The constructor for a mergesort object with a caller-supplied merge
+     * buffer.
+     *
+     * @param array     The initial array to associate with this object.
+     * @param buffer    The auxiliary buffer of at least array.length elements.
+     */
+    public IntMergeSort(int[] array, int[] buffer)
+    {
+        init(array);
+        setBuffer(buffer);
+    }
+
+    /**
+     * This method sets the auxiliary buffer used for merging. A buffer that
+     * is null or shorter than the array is replaced on the next sort.
+     *
+     * @param buffer    The auxiliary buffer to merge through.
+     */
+    public void setBuffer(int[] buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    /**
+     * This method sets the max range size sorted by the leaf sort.
+     *
+     * @param cutoff    The max range size sorted by the leaf sort.
+     */
+    public void setCutoff(int cutoff)
+    {
+        this.cutoff = cutoff;
+    }
+
+    /**
+     * This method performs a mergesort on the array.
+     */
+    public void sort()
+    {
+        if (array.length > 1)
+        {
+            if ((buffer == null) || (buffer.length < array.length))
+                buffer = new int[array.length];
+            step(0, array.length, buffer);
+        }
+    }
+
+    /**
+     * This method recursively performs the steps of mergesort on the range
+     * [lo, hi) of the array.
+     */
+    private void step(int lo, int hi, int[] aux)
+    {
+        if (hi - lo <= cutoff)
+        {
+            SmallSort.sort(array, lo, hi);
+        }
+        else if (hi - lo > 1)
+        {
+            int mid = (lo + hi) >>> 1;
+
+            // sort the sub ranges
+            step(lo, mid, aux);
+            step(mid, hi, aux);
+
+            // merge the sub ranges in this array
+            merge(lo, mid, hi, aux);
+        }
+    }
+
+    /**
+     * This method merges the sorted ranges [lo, mid) and [mid, hi).
+     */
+    private void merge(int lo, int mid, int hi, int[] aux)
+    {
+        // skip the merge if the ranges are already in order
+        if (!less(array[mid], array[mid-1]))
+            return;
+
+        System.arraycopy(array, lo, aux, lo, hi - lo);
+        int i = lo;
+        int j = mid;
+
+        for (int k=lo; k<hi; k++)
+        {
+            if (i >= mid)
+                array[k] = aux[j++];
+            else if (j >= hi)
+                array[k] = aux[i++];
+            else if (less(aux[j], aux[i]))
+                array[k] = aux[j++];
+            else
+                array[k] = aux[i++];
+        }
+    }
+}
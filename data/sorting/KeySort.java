@@ -0,0 +1,252 @@
+package data.sorting;
+
+import java.util.Comparator;
+
+/**
+ * The KeySort class contains the key-extraction (Schwartzian transform)
+ * helpers used to sort by derived keys: each key is extracted once, the
+ * positions of the keys are sorted into a stable order, and the order is
+ * applied to the elements by a single pass over the permutation cycles.
+ *
+ * Long keys are ordered by an LSD radix sort on 8-bit digits carrying the
+ * positions, and other keys by a bottom-up mergesort of the positions.
+ *
+ *  Worst-case performance: O(w*n)          [long keys, w = 8 digit passes]
+ *                          O(n*log(n))     [comparator keys]
+ *
+ *  Worst-case complexity:  O(n)            [auxiliary]
+ */
+final class KeySort
+{
+    /**
+     * The private constructor.
+     */
+    private KeySort()
+    {
+    }
+
+    /**
+     * This method returns the stable sorted order of the signed long keys,
+     * so that keys[order[0]] <= keys[order[1]] <= ... The keys are
+     * overwritten.
+     *
+     * @param keys  The keys to be ordered.
+     * @return  The positions of the keys in ascending order.
+     */
+    static int[] order(long[] keys)
+    {
+        int n = keys.length;
+        int[] index = new int[n];
+        if (n < 2)
+            return index;
+
+        // map the keys to unsigned order and count the digits of every pass
+        int[][] count = new int[RadixSort.PASSES][RadixSort.RADIX];
+        for (int i=0; i<n; i++)
+        {
+            long k = LongRadixSort.key(keys[i]);
+            keys[i] = k;
+            index[i] = i;
+            for (int p=0; p<RadixSort.PASSES; p++)
+                count[p][(int) (k >>> (p*RadixSort.BITS)) & RadixSort.MASK]++;
+        }
+
+        // scatter the keys and positions by each digit
+        long[] srcKeys = keys;
+        long[] dstKeys = null;
+        int[] src = index;
+        int[] dst = null;
+        for (int p=0; p<RadixSort.PASSES; p++)
+        {
+            int[] c = count[p];
+            int shift = p*RadixSort.BITS;
+
+            // skip the pass if all of the keys share the digit
+            if (c[(int) (srcKeys[0] >>> shift) & RadixSort.MASK] == n)
+                continue;
+
+            if (dst == null)
+            {
+                dstKeys = new long[n];
+                dst = new int[n];
+            }
+
+            // convert the counts to starting positions
+            int sum = 0;
+            for (int d=0; d<RadixSort.RADIX; d++)
+            {
+                int t = c[d];
+                c[d] = sum;
+                sum += t;
+            }
+
+            for (int i=0; i<n; i++)
+            {
+                long k = srcKeys[i];
+                int j = c[(int) (k >>> shift) & RadixSort.MASK]++;
+                dstKeys[j] = k;
+                dst[j] = src[i];
+            }
+
+            long[] tmpKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmpKeys;
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        return src;
+    }
+
+    /**
+     * This method returns the stable sorted order of the keys by the
+     * comparator, so that keys[order[0]] <= keys[order[1]] <= ...
+     *
+     * @param keys  The keys to be ordered.
+     * @param comp  The comparator to use for ordering the keys.
+     * @param <K>   The type of the keys.
+     * @return  The positions of the keys in ascending order.
+     */
+    static <K> int[] order(K[] keys, Comparator<? super K> comp)
+    {
+        int n = keys.length;
+        int[] index = new int[n];
+        for (int i=0; i<n; i++)
+            index[i] = i;
+        if (n > AbstractSort.CUTOFF)
+            sort(keys, index, new int[n], 0, n, comp);
+        else
+            sort(keys, index, null, 0, n, comp);
+        return index;
+    }
+
+    /**
+     * This method stably sorts the positions index[lo, hi) by their keys,
+     * by a bottom-up mergesort from insertion sorted runs through the same
+     * range of the buffer, which may be null for ranges up to the cutoff.
+     *
+     * @param keys      The keys of the positions.
+     * @param index     The positions to be sorted.
+     * @param buffer    The auxiliary buffer to merge through.
+     * @param lo        The start of the range to be sorted.
+     * @param hi        The end of the range to be sorted.
+     * @param comp      The comparator to use for ordering the keys.
+     * @param <K>       The type of the keys.
+     */
+    static <K> void sort(K[] keys, int[] index, int[] buffer, int lo, int hi, Comparator<? super K> comp)
+    {
+        int n = hi - lo;
+        int start = AbstractSort.CUTOFF;
+
+        // sort the initial runs by insertion sort
+        for (int i=lo; i<hi; )
+        {
+            int end = (start < hi - i) ? i + start : hi;
+            for (int k=i + 1; k<end; k++)
+            {
+                int value = index[k];
+                int j = k - 1;
+                while ((j >= i) && (comp.compare(keys[value], keys[index[j]]) < 0))
+                {
+                    index[j + 1] = index[j];
+                    j--;
+                }
+                index[j + 1] = value;
+            }
+            i = end;
+        }
+
+        // merge runs of doubling width between the index and the buffer
+        int[] src = index;
+        int[] dst = buffer;
+        for (int width=start; width<n; width = (width < n - width) ? 2*width : n)
+        {
+            int i = lo;
+            while (i < hi)
+            {
+                int mid = (width < hi - i) ? i + width : hi;
+                int end = (width < hi - mid) ? mid + width : hi;
+                merge(keys, src, dst, i, mid, end, comp);
+                i = end;
+            }
+
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+
+        // copy the result back if the last pass ended in the buffer
+        if (src != index)
+            System.arraycopy(src, lo, index, lo, n);
+    }
+
+    /**
+     * This method merges the sorted runs of positions src[lo, mid) and
+     * src[mid, hi) into dst[lo, hi), taking ties from the left-side run.
+     *
+     * @param keys  The keys of the positions.
+     * @param src   The array holding the runs to be merged.
+     * @param dst   The array to be merged into.
+     * @param lo    The start of the left-side run.
+     * @param mid   The start of the right-side run.
+     * @param hi    The end of the right-side run.
+     * @param comp  The comparator to use for ordering the keys.
+     * @param <K>   The type of the keys.
+     */
+    static <K> void merge(K[] keys, int[] src, int[] dst, int lo, int mid, int hi,
+            Comparator<? super K> comp)
+    {
+        // copy the runs if they are already in order
+        if ((mid == hi) || (comp.compare(keys[src[mid - 1]], keys[src[mid]]) <= 0))
+        {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+
+        int i = lo;
+        int j = mid;
+
+        for (int k=lo; k<hi; k++)
+        {
+            if (i >= mid)
+                dst[k] = src[j++];
+            else if (j >= hi)
+                dst[k] = src[i++];
+            else if (comp.compare(keys[src[i]], keys[src[j]]) <= 0)
+                dst[k] = src[i++];
+            else
+                dst[k] = src[j++];
+        }
+    }
+
+    /**
+     * This method rearranges the array so that array[i] becomes the element
+     * at position order[i], following each cycle of the permutation once so
+     * that every element is moved a single time. The order is consumed.
+     *
+     * @param array The array to be rearranged.
+     * @param order The permutation of positions to apply.
+     * @param <T>   The type of objects to be rearranged.
+     */
+    static <T> void permute(T[] array, int[] order)
+    {
+        for (int i=0; i<order.length; i++)
+        {
+            // skip positions already placed by an earlier cycle
+            if (order[i] < 0)
+                continue;
+
+            T value = array[i];
+            int j = i;
+            int k;
+            while ((k = order[j]) != i)
+            {
+                array[j] = array[k];
+                order[j] = ~k;
+                j = k;
+            }
+            array[j] = value;
+            order[j] = ~i;
+        }
+    }
+}
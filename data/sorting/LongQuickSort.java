@@ -0,0 +1,129 @@
+package data.sorting;
+
+/**
+ * A sorting class that implements an in-place introsort-hardened quicksort
+ * algorithm on an array of primitive long values.
+ *
+ * The pivot is the median of three elements, only the smaller side of the
+ * pivot is recursed on, ranges that exceed the 2*log(n) depth limit fall back
+ * to a heapsort, and ranges of at most the cutoff are finished by a sorting
+ * network or insertion sort.
+ *
+ *  Worst-case performance: O(n*log(n))     [introsort]
+ *  Best-case performance:  O(n*log(n))     [simple]
+ *
+ *  Average performance:    O(n*log(n))
+ *
+ *  Worst-case complexity:  O(log(n))       [auxiliary, Sedgewick 1978]
+ */
+public class LongQuickSort extends AbstractLongSort
+{
+    private int cutoff = SmallSort.CUTOFF;  // max range size of the leaf sort
+
+    /**
+     * The constructor for a quicksort object.
+     *
+     * @param array The initial array to associate with this object.
+     */
+    public LongQuickSort(long[] array)
+    {
+        init(array);
+    }
+
+    /**
+     * This method sets the max range size finished by the leaf sort.
+     *
+     * @param cutoff    The max range size finished by the leaf sort.
+     */
+    public void setCutoff(int cutoff)
+    {
+        this.cutoff = cutoff;
+    }
+
+    /**
+     * This method performs a quicksort on the array.
+     */
+    public void sort()
+    {
+        if (array.length > 1)
+            step(0, array.length - 1, QuickSort.depth(array.length));
+    }
+
+    /**
+     * This method performs the steps of quicksort, recursing on the smaller
+     * side of the pivot and looping on the larger side until the depth limit
+     * is reached.
+     */
+    private void step(int left, int right, int depth)
+    {
+        while (left < right)
+        {
+            // finish small ranges by the leaf sort
+            if (right - left < cutoff)
+            {
+                SmallSort.sort(array, left, right + 1);
+                return;
+            }
+
+            // fall back to heapsort once the depth limit is reached
+            if (depth-- == 0)
+            {
+                LongHeapSort.sort(array, left, right + 1);
+                return;
+            }
+
+            // move the median of three to the pivot position
+            median(left, left + (right - left)/2, right);
+            long pivot = array[right];
+            int l = left - 1;
+            int r = right;
+
+            while (true)
+            {
+                // scan right to find element not smaller than the pivot
+                while (less(array[++l], pivot))
+                    ;
+
+                // scan left to find element not larger than the pivot
+                while (less(pivot, array[--r]))
+                    if (r == left)
+                        break;
+
+                // swap elements if both found
+                if (l >= r)
+                    break;
+                swap(l, r);
+            }
+
+            // swap pivot with left element
+            swap(l, right);
+
+            // recursive step the smaller side of the pivot
+            if (l - left < right - l)
+            {
+                step(left, l - 1, depth);
+                left = l + 1;
+            }
+            else
+            {
+                step(l + 1, right, depth);
+                right = l - 1;
+            }
+        }
+    }
+
+    /**
+     * This method orders the values at the three positions and moves the
+     * median value to the right-side position.
+     */
+    private void median(int left, int mid, int right)
+    {
+        if (less(array[mid], array[left]))
+            swap(left, mid);
+        if (less(array[right], array[mid]))
+            swap(mid, right);
+        if (less(array[mid], array[left]))
+            swap(left, mid);
+        swap(mid, right);
+    }
+}
@@ -5,6 +5,12 @@ import java.util.Comparator;
 /**
  * A sorting class that implements the mergesort algorithm.
  *
+ * The array is sorted bottom-up, starting from runs of the cutoff length
+ * sorted by insertion sort and merging runs of doubling width back and forth
+ * (ping-pong) between the array and a single auxiliary buffer of size n.
+ * The buffer is kept by the object, or can be supplied by the caller, so that
+ * repeated sorts allocate nothing.
+ *
  *  Worst-case performance: O(n*log(n))
  *  Best-case performance:  O(n*log(n))     [typical]
  *                          O(n)            [natural variant]
@@ -17,6 +23,9 @@ import java.util.Comparator;
  */
 public class MergeSort<T> extends AbstractSort<T> implements Sort<T>
 {
+    private T[] buffer;             // the reusable auxiliary merge buffer
+    private int cutoff = CUTOFF;    // the length of the insertion sorted runs
+
     /**
      * The constructor for a mergesort object.
      *
@@ -28,55 +37,164 @@ public class MergeSort<T> extends AbstractSort<T> implements Sort<T>
         init(array, comp);
     }
 
+    /**
+     * The constructor for a mergesort object with a caller-supplied merge
+     * buffer.
+     *
+     * @param array     The initial array to associate with this object.
+     * @param comp      The comparator to use for sorting the array.
+     * @param buffer    The auxiliary buffer of at least array.length elements.
+     */
+    public MergeSort(T[] array, Comparator<T> comp, T[] buffer)
+    {
+        init(array, comp);
+        setBuffer(buffer);
+    }
+
+    /**
+     * This method sets the auxiliary buffer used for merging. A buffer that
+     * is null or shorter than the array is replaced on the next sort.
+     *
+     * @param buffer    The auxiliary buffer to merge through.
+     */
+    public void setBuffer(T[] buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    /**
+     * This method sets the length of the initial runs sorted by insertion
+     * sort.
+     *
+     * @param cutoff    The length of the insertion sorted runs.
+     */
+    public void setCutoff(int cutoff)
+    {
+        this.cutoff = cutoff;
+    }
+
     /**
      * This method performs a mergesort on the array.
      */
     public void sort()
     {
-        if (array.length > 1)
+        int n = array.length;
+        if (n > 1)
+        {
+            if ((buffer == null) || (buffer.length < n))
+            {
+                @SuppressWarnings("unchecked")
+                T[] b = (T[]) new Object[n];
+                buffer = b;
+            }
+            sort(array, buffer, 0, n, comp, cutoff);
+        }
+    }
+
+    /**
+     * This method performs a bottom-up mergesort on the range [lo, hi) of the
+     * array, merging through the same range of the buffer.
+     *
+     * @param array     The array to be sorted.
+     * @param buffer    The auxiliary buffer to merge through.
+     * @param lo        The start of the range to be sorted.
+     * @param hi        The end of the range to be sorted.
+     * @param comp      The comparator to use for sorting the array.
+     * @param <T>       The type of objects to be sorted.
+     */
+    static <T> void sort(T[] array, T[] buffer, int lo, int hi, Comparator<T> comp)
+    {
+        sort(array, buffer, lo, hi, comp, CUTOFF);
+    }
+
+    /**
+     * This method performs a bottom-up mergesort on the range [lo, hi) of the
+     * array, starting from runs of the cutoff length sorted by insertion sort
+     * and merging through the same range of the buffer.
+     *
+     * @param array     The array to be sorted.
+     * @param buffer    The auxiliary buffer to merge through.
+     * @param lo        The start of the range to be sorted.
+     * @param hi        The end of the range to be sorted.
+     * @param comp      The comparator to use for sorting the array.
+     * @param cutoff    The length of the insertion sorted runs.
+     * @param <T>       The type of objects to be sorted.
+     */
+    static <T> void sort(T[] array, T[] buffer, int lo, int hi, Comparator<T> comp, int cutoff)
+    {
+        int n = hi - lo;
+        int start = Math.max(cutoff, 1);
+
+        // sort the initial runs by insertion sort
+        if (start > 1)
         {
-            // build the left-side subarray
-            T[] a = (T[]) new Object[array.length / 2];
-            System.arraycopy(array, 0, a, 0, a.length);
-
-            // build the right-side subarray
-            T[] b = (T[]) new Object[array.length - a.length];
-            if (b.length >= 0) System.arraycopy(array, a.length, b, 0, b.length);
-
-            // sort the sub arrays
-            MergeSort<T> aSub = new MergeSort<>(a, comp);
-            aSub.sort();
-            MergeSort<T> bSub = new MergeSort<>(b, comp);
-            bSub.sort();
-
-            // merge the subarrays in this array
-            merge(aSub.array, bSub.array);
+            int i = lo;
+            while (i < hi)
+            {
+                int end = (start < hi - i) ? i + start : hi;
+                insertionSort(array, i, end, comp);
+                i = end;
+            }
         }
+
+        // merge runs of doubling width between the array and the buffer
+        T[] src = array;
+        T[] dst = buffer;
+        for (int width=start; width<n; width = (width < n - width) ? 2*width : n)
+        {
+            int i = lo;
+            while (i < hi)
+            {
+                int mid = (width < hi - i) ? i + width : hi;
+                int end = (width < hi - mid) ? mid + width : hi;
+                merge(src, dst, i, mid, end, comp);
+                i = end;
+            }
+
+            T[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+
+        // copy the result back if the last pass ended in the buffer
+        if (src != array)
+            System.arraycopy(src, lo, array, lo, n);
     }
 
     /**
-     * This method merges the two arrays.
+     * This method merges the sorted runs src[lo, mid) and src[mid, hi) into
+     * dst[lo, hi).
      *
-     * @param a The left-side to be merged.
-     * @param b The right-side to be merged.
+     * @param src   The array holding the runs to be merged.
+     * @param dst   The array to be merged into.
+     * @param lo    The start of the left-side run.
+     * @param mid   The start of the right-side run.
+     * @param hi    The end of the right-side run.
+     * @param comp  The comparator to use for merging the runs.
+     * @param <T>   The type of objects to be merged.
      */
-    private void merge(T[] a, T[] b)
+    static <T> void merge(T[] src, T[] dst, int lo, int mid, int hi, Comparator<T> comp)
     {
-        T[] c = (T[]) new Object[a.length + b.length];
-        int i = 0;
-        int j = 0;
+        // copy the runs if they are already in order
+        if ((mid == hi) || (comp.compare(src[mid - 1], src[mid]) < 1))
+        {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+
+        int i = lo;
+        int j = mid;
 
-        for (int k=0; k<c.length; k++)
+        for (int k=lo; k<hi; k++)
         {
-            if (i >= a.length)
-                c[k] = b[j++];
-            else if (j >= b.length)
-                c[k] = a[i++];
-            else if (comp.compare(a[i], b[j]) < 1)
-                c[k] = a[i++];
+            if (i >= mid)
+                dst[k] = src[j++];
+            else if (j >= hi)
+                dst[k] = src[i++];
+            else if (comp.compare(src[i], src[j]) < 1)
+                dst[k] = src[i++];
             else
-                c[k] = b[j++];
+                dst[k] = src[j++];
         }
-        System.arraycopy(c, 0, array, 0, c.length);
     }
 }
@@ -0,0 +1,220 @@
+package data.sorting;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A sorting class that implements a parallel fork/join mergesort algorithm.
+ *
+ * The array is split into halves that are sorted as RecursiveAction tasks on
+ * a ForkJoinPool, and the sorted halves are merged by splitting the larger
+ * run at its middle element and merging both sides in parallel. Ranges at or
+ * below the threshold are sorted and merged sequentially. The merge is
+ * stable, so the result is the same as the sequential MergeSort.
+ *
+ *  Worst-case performance: O(n*log(n))
+ *  Best-case performance:  O(n*log(n))
+ *
+ *  Average performance:    O(n*log(n))
+ *
+ *  Worst-case complexity:  O(n)            [auxiliary]
+ */
+public class ParallelMergeSort<T> extends AbstractSort<T> implements Sort<T>
+{
+    public static final int THRESHOLD = 8192;   // default sequential cutoff
+
+    private ForkJoinPool pool;      // the pool that runs the sort tasks
+    private int threshold;          // the max range size sorted sequentially
+    private T[] buffer;             // the reusable auxiliary merge buffer
+
+    /**
+     * The constructor for a parallel mergesort object running on the common
+     * pool with the default threshold.
+     *
+     * @param array The initial array to associate with this object.
+     * @param comp  The comparator to use for sorting the array.
+     */
+    public ParallelMergeSort(T[] array, Comparator<T> comp)
+    {
+        this(array, comp, ForkJoinPool.commonPool(), THRESHOLD);
+    }
+
+    /**
+     * The constructor for a parallel mergesort object.
+     *
+     * @param array     The initial array to associate with this object.
+     * @param comp      The comparator to use for sorting the array.
+     * @param pool      The pool to run the sort tasks on.
+     * @param threshold The max range size to sort sequentially.
+     */
+    public ParallelMergeSort(T[] array, Comparator<T> comp, ForkJoinPool pool, int threshold)
+    {
+        init(array, comp);
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * This method sets the auxiliary buffer used for merging. A buffer that
+     * is null or shorter than the array is replaced on the next sort.
+     *
+     * @param buffer    The auxiliary buffer to merge through.
+     */
+    public void setBuffer(T[] buffer)
+    {
+        this.buffer = buffer;
+    }
+
+    /**
+     * This method performs a parallel mergesort on the array.
+     */
+    public void sort()
+    {
+        int n = array.length;
+        if (n > 1)
+        {
+            if ((buffer == null) || (buffer.length < n))
+            {
+                @SuppressWarnings("unchecked")
+                T[] b = (T[]) new Object[n];
+                buffer = b;
+            }
+            pool.invoke(new SortTask(0, n));
+        }
+    }
+
+    /**
+     * A task that sorts the range [lo, hi) of the array.
+     */
+    private class SortTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+
+        SortTask(int lo, int hi)
+        {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (hi - lo <= threshold)
+            {
+                MergeSort.sort(array, buffer, lo, hi, comp);
+                return;
+            }
+
+            // sort the halves in parallel
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(lo, mid), new SortTask(mid, hi));
+
+            // merge the halves back into the array if they are out of order
+            if (comp.compare(array[mid - 1], array[mid]) > 0)
+            {
+                System.arraycopy(array, lo, buffer, lo, hi - lo);
+                new MergeTask(lo, mid, mid, hi, lo).compute();
+            }
+        }
+    }
+
+    /**
+     * A task that merges the sorted runs buffer[lo1, hi1) and buffer[lo2, hi2)
+     * into the array starting at position out.
+     */
+    private class MergeTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+
+        MergeTask(int lo1, int hi1, int lo2, int hi2, int out)
+        {
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute()
+        {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+
+            if (n1 + n2 <= threshold)
+            {
+                merge();
+                return;
+            }
+
+            // split the larger run at its middle and find the matching split
+            // of the other run, keeping left-run elements first on equal keys
+            int m1;
+            int m2;
+            if (n1 >= n2)
+            {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = search(buffer[m1], lo2, hi2, false);
+                array[out + (m1 - lo1) + (m2 - lo2)] = buffer[m1];
+                invokeAll(new MergeTask(lo1, m1, lo2, m2, out),
+                          new MergeTask(m1 + 1, hi1, m2, hi2, out + (m1 - lo1) + (m2 - lo2) + 1));
+            }
+            else
+            {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = search(buffer[m2], lo1, hi1, true);
+                array[out + (m1 - lo1) + (m2 - lo2)] = buffer[m2];
+                invokeAll(new MergeTask(lo1, m1, lo2, m2, out),
+                          new MergeTask(m1, hi1, m2 + 1, hi2, out + (m1 - lo1) + (m2 - lo2) + 1));
+            }
+        }
+
+        /**
+         * This method sequentially merges the runs into the array.
+         */
+        private void merge()
+        {
+            int i = lo1;
+            int j = lo2;
+            int k = out;
+
+            while ((i < hi1) && (j < hi2))
+            {
+                if (comp.compare(buffer[i], buffer[j]) < 1)
+                    array[k++] = buffer[i++];
+                else
+                    array[k++] = buffer[j++];
+            }
+            System.arraycopy(buffer, i, array, k, hi1 - i);
+            System.arraycopy(buffer, j, array, k + (hi1 - i), hi2 - j);
+        }
+
+        /**
+         * This method returns the first position in buffer[lo, hi) whose
+         * element is greater than (upper) or not less than (lower) the key.
+         */
+        private int search(T key, int lo, int hi, boolean upper)
+        {
+            while (lo < hi)
+            {
+                int mid = (lo + hi) >>> 1;
+                int c = comp.compare(buffer[mid], key);
+                if ((c < 0) || (upper && (c == 0)))
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package data.sorting;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A sorting class that implements a parallel fork/join quicksort algorithm.
+ *
+ * Each range is partitioned by the same step as the sequential QuickSort and
+ * both sides of the pivot are sorted as RecursiveAction tasks on a
+ * ForkJoinPool. Ranges below the threshold are sorted sequentially and ranges
+ * past the depth limit fall back to heapsort, so the result is the same as
+ * the sequential QuickSort.
+ *
+ *  Worst-case performance: O(n*log(n))     [introsort]
+ *  Best-case performance:  O(n*log(n))     [simple]
+ *                          O(n)            [3-way and equal keys]
+ *
+ *  Average performance:    O(n*log(n))
+ *
+ *  Worst-case complexity:  O(log(n))       [auxiliary]
+ */
+public class ParallelQuickSort<T> extends AbstractSort<T> implements Sort<T>
+{
+    public static final int THRESHOLD = 8192;   // default sequential cutoff
+
+    private ForkJoinPool pool;      // the pool that runs the sort tasks
+    private int threshold;          // the max range size sorted sequentially
+
+    /**
+     * The constructor for a parallel quicksort object running on the common
+     * pool with the default threshold.
+     *
+     * @param array The initial array to associate with this object.
+     * @param comp  The comparator to use for sorting the array.
+     */
+    public ParallelQuickSort(T[] array, Comparator<T> comp)
+    {
+        this(array, comp, ForkJoinPool.commonPool(), THRESHOLD);
+    }
+
+    /**
+     * The constructor for a parallel quicksort object.
+     *
+     * @param array     The initial array to associate with this object.
+     * @param comp      The comparator to use for sorting the array.
+     * @param pool      The pool to run the sort tasks on.
+     * @param threshold The max range size to sort sequentially.
+     */
+    public ParallelQuickSort(T[] array, Comparator<T> comp, ForkJoinPool pool, int threshold)
+    {
+        init(array, comp);
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * This method performs a parallel quicksort on the array.
+     */
+    public void sort()
+    {
+        if (array.length > 1)
+        {
+            QuickSort<T> seq = new QuickSort<>(array, comp);
+            pool.invoke(new SortTask(seq, 0, array.length - 1, QuickSort.depth(array.length)));
+        }
+    }
+
+    /**
+     * A task that sorts the range [left, right] of the array.
+     */
+    private class SortTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final QuickSort<T> seq;
+        private final int left;
+        private final int right;
+        private final int depth;
+
+        SortTask(QuickSort<T> seq, int left, int right, int depth)
+        {
+            this.seq = seq;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ((right - left < threshold) || (depth == 0))
+            {
+                seq.step(left, right, depth);
+                return;
+            }
+
+            // partition and sort each side of the pivot range in parallel
+            int[] bounds = seq.partition(left, right);
+            int lt = bounds[0];
+            int gt = bounds[1];
+            invokeAll(new SortTask(seq, left, lt - 1, depth - 1),
+                      new SortTask(seq, gt + 1, right, depth - 1));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package data.sorting;
+
+/**
+ * A primitive sorting interface containing the methods shared by the sorting
+ * classes that are specialized for arrays of primitive values. An object that
+ * implements this PrimitiveSort interface sorts its primitive array in the
+ * natural ascending order of the values without boxing the elements or
+ * dispatching through a comparator.
+ *
+ * The specialized classes follow the same contract as the Sort interface,
+ * where the array is associated with the object by a typed init() method.
+ */
+public interface PrimitiveSort
+{
+    /**
+     * This method swaps the values at positions left and right in the array.
+     *
+     * @param left  The left-side position to swap.
+     * @param right The right-side position to swap.
+     */
+    void swap(int left, int right);
+
+    /**
+     * This method performs the sorting algorithm on the array.
+     */
+    void sort();
+
+    /**
+     * This method checks if the array is sorted in ascending order.
+     *
+     * @return  true if a is sorted, otherwise false;
+     */
+    boolean isSorted();
+
+    /**
+     * This method prints the array.
+     */
+    void print();
+}
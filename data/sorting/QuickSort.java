@@ -3,19 +3,27 @@ package data.sorting;
 import java.util.Comparator;
 
 /**
- * A sorting class that implements an in-place quicksort algorithm.
+ * A sorting class that implements an in-place introsort-hardened quicksort
+ * algorithm.
  *
- *  Worst-case performance: O(n^2)
+ * The pivot is the median of three elements, or Tukey's ninther for larger
+ * ranges, and each range is split 3-way (Dutch national flag) so that keys
+ * equal to the pivot are excluded from further steps. Only the smaller side
+ * is recursed on, ranges that exceed the 2*log(n) depth limit fall back to a
+ * heapsort, and ranges of at most the cutoff are finished by insertion sort.
+ *
+ *  Worst-case performance: O(n*log(n))     [introsort]
  *  Best-case performance:  O(n*log(n))     [simple]
  *                          O(n)            [3-way and equal keys]
  *
  *  Average performance:    O(n*log(n))
  *
- *  Worst-case complexity:  O(n)            [auxiliary, naive]
- *                          O(log(n))       [auxiliary, Sedgewick 1978]
+ *  Worst-case complexity:  O(log(n))       [auxiliary, Sedgewick 1978]
  */
 public class QuickSort<T> extends AbstractSort<T> implements Sort<T>
 {
+    private int cutoff = CUTOFF;    // max range size sorted by insertion
+
     /**
      * The constructor for a quicksort object.
      *
@@ -27,47 +35,74 @@ public class QuickSort<T> extends AbstractSort<T> implements Sort<T>
         init(array, comp);
     }
 
+    /**
+     * This method sets the max range size sorted by insertion sort.
+     *
+     * @param cutoff    The max range size sorted by insertion sort.
+     */
+    public void setCutoff(int cutoff)
+    {
+        this.cutoff = cutoff;
+    }
+
     /**
      * This method performs a quicksort on the array.
      */
     public void sort()
     {
         if (array.length > 1)
-            step(0, array.length - 1);
+            step(0, array.length - 1, depth(array.length));
     }
 
     /**
-     * This method recursively performs the steps of quicksort.
+     * This method returns the introsort depth limit for n elements.
+     *
+     * @param n The number of elements to be sorted.
+     * @return  2*floor(log2(n));
      */
-    private void step(int left, int right)
+    static int depth(int n)
     {
-        if (left < right)
-        {
-            T pivot = array[right];
-            int l = left;
-            int r = right - 1;
+        return 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
 
-            while (l <= r)
+    /**
+     * This method performs the steps of quicksort, recursing on the smaller
+     * side of the pivot and looping on the larger side until the depth limit
+     * is reached.
+     */
+    void step(int left, int right, int depth)
+    {
+        while (left < right)
+        {
+            // finish small ranges by insertion sort
+            if (right - left < cutoff)
             {
-                // scan right to find element larger than the pivot
-                while ((l <= r) && (comp.compare(array[l], pivot) < 1))
-                    l++;
-
-                // scan left to find element smaller than the pivot
-                while ((l <= r) && (comp.compare(array[r], pivot) > -1))
-                    r--;
+                insertionSort(array, left, right + 1, comp);
+                return;
+            }
 
-                // swap elements if both found
-                if (l < r)
-                    swap(l, r);
+            // fall back to heapsort once the depth limit is reached
+            if (depth-- == 0)
+            {
+                HeapSort.sort(array, left, right + 1, comp);
+                return;
             }
 
-            // swap pivot with left element
-            swap(l, right);
+            int[] bounds = partition(left, right);
+            int lt = bounds[0];
+            int gt = bounds[1];
 
-            // recursive step each side of the pivot
-            step(left, l - 1);      // left to pivot step
-            step(l + 1, right);      // pivot to right step
+            // recursive step the smaller side of the pivot
+            if (lt - left < right - gt)
+            {
+                step(left, lt - 1, depth);
+                left = gt + 1;
+            }
+            else
+            {
+                step(gt + 1, right, depth);
+                right = lt - 1;
+            }
         }
     }
 }
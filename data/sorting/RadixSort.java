@@ -0,0 +1,138 @@
+package data.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A sorting class that implements a stable least-significant-digit (LSD)
+ * radix sort on a generic array, ordered by a long key extracted from each
+ * element.
+ *
+ * The keys are extracted once into a primitive array, and the keys and the
+ * elements are scattered together by 8-bit digits of the keys, skipping the
+ * passes where all of the keys share a digit. Int keys can be extracted by
+ * the same function, and double keys by the byDouble() factory.
+ *
+ *  Worst-case performance: O(w*n)          [w = 8 digit passes]
+ *  Best-case performance:  O(n)            [equal high digits]
+ *
+ *  Average performance:    O(w*n)
+ *
+ *  Worst-case complexity:  O(n)            [auxiliary]
+ *
+ * @param <T>   The type of objects to be sorted.
+ */
+public class RadixSort<T> extends AbstractSort<T> implements Sort<T>
+{
+    static final int BITS = 8;                  // the bits per digit
+    static final int RADIX = 1 << BITS;         // the number of digit values
+    static final int MASK = RADIX - 1;          // the digit mask
+    static final int PASSES = 64 / BITS;        // the number of digit passes
+
+    private ToLongFunction<T> key;  // the key extractor
+    private long[] keys;            // the reusable extracted keys
+    private long[] keyBuffer;       // the reusable auxiliary key buffer
+    private T[] buffer;             // the reusable auxiliary element buffer
+
+    /**
+     * The constructor for a radix sort object.
+     *
+     * @param array The initial array to associate with this object.
+     * @param key   The function extracting the sort key of an element.
+     */
+    public RadixSort(T[] array, ToLongFunction<T> key)
+    {
+        init(array, Comparator.comparingLong(key));
+        this.key = key;
+    }
+
+    /**
+     * This method returns a radix sort object ordered by a double key, in the
+     * order of Double.compare().
+     *
+     * @param array The initial array to associate with the sort object.
+     * @param key   The function extracting the sort key of an element.
+     * @param <T>   The type of objects to be sorted.
+     * @return  The radix sort object.
+     */
+    public static <T> RadixSort<T> byDouble(T[] array, ToDoubleFunction<T> key)
+    {
+        return new RadixSort<>(array, (T t) -> DoubleRadixSort.key(key.applyAsDouble(t)) ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * This method performs a radix sort on the array.
+     */
+    public void sort()
+    {
+        int n = array.length;
+        if (n < 2)
+            return;
+        if ((keys == null) || (keys.length < n))
+        {
+            keys = new long[n];
+            keyBuffer = new long[n];
+            @SuppressWarnings("unchecked")
+            T[] b = (T[]) new Object[n];
+            buffer = b;
+        }
+
+        // extract the keys and count the digits of every pass in one scan
+        int[][] count = new int[PASSES][RADIX];
+        for (int i=0; i<n; i++)
+        {
+            long k = LongRadixSort.key(key.applyAsLong(array[i]));
+            keys[i] = k;
+            for (int p=0; p<PASSES; p++)
+                count[p][(int) (k >>> (p*BITS)) & MASK]++;
+        }
+
+        // scatter the keys and elements by each digit
+        long[] srcKeys = keys;
+        long[] dstKeys = keyBuffer;
+        T[] src = array;
+        T[] dst = buffer;
+        for (int p=0; p<PASSES; p++)
+        {
+            int[] c = count[p];
+            int shift = p*BITS;
+
+            // skip the pass if all of the keys share the digit
+            if (c[(int) (srcKeys[0] >>> shift) & MASK] == n)
+                continue;
+
+            // convert the counts to starting positions
+            int sum = 0;
+            for (int d=0; d<RADIX; d++)
+            {
+                int t = c[d];
+                c[d] = sum;
+                sum += t;
+            }
+
+            for (int i=0; i<n; i++)
+            {
+                long k = srcKeys[i];
+                int j = c[(int) (k >>> shift) & MASK]++;
+                dstKeys[j] = k;
+                dst[j] = src[i];
+            }
+
+            long[] tmpKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tmpKeys;
+            T[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+
+        // copy the result back if the last pass ended in the buffer
+        if (src != array)
+            System.arraycopy(src, 0, array, 0, n);
+
+        // release the element references held by the buffer
+        Arrays.fill(buffer, 0, n, null);
+    }
+}
@@ -0,0 +1,286 @@
+package data.sorting;
+
+import java.util.Arrays;
+
+/**
+ * The SmallSort class contains the leaf sorts used by the primitive sorting
+ * classes for small ranges: sorting networks for ranges of up to NETWORK_MAX
+ * elements and an insertion sort for larger ranges below the cutoff.
+ *
+ * The networks are Batcher's odd-even merge networks, which are size-optimal
+ * for up to 8 inputs and within a few comparators of the best known networks
+ * for up to 16 inputs. The sequence of compare-exchanges is fixed for each
+ * length, and the int and long networks compare-exchange without branches by
+ * Math.min() and Math.max().
+ */
+final class SmallSort
+{
+    static final int NETWORK_MAX = 16;  // max range length sorted by network
+    static final int CUTOFF = 16;       // default max range length for leaves
+
+    /* the flattened comparator pairs of the network for each length */
+    static final int[][] NETWORKS = networks(NETWORK_MAX);
+
+    /**
+     * The private constructor.
+     */
+    private SmallSort()
+    {
+    }
+
+    /**
+     * This method returns the flattened comparator pairs of Batcher's odd-even
+     * merge network for every length up to n, where each length uses the
+     * network of the next power of two with the comparators on inputs past
+     * the length dropped.
+     *
+     * @param n The max number of inputs.
+     * @return  The comparator pairs {i0, j0, i1, j1, ...} for each length.
+     */
+    static int[][] networks(int n)
+    {
+        int[][] networks = new int[n + 1][];
+        for (int len=0; len<=n; len++)
+        {
+            int size = (len < 2) ? 1 : Integer.highestOneBit(len - 1) << 1;
+            int[] pairs = new int[size*size];
+            int count = 0;
+
+            // keep the pairs of the full network that lie within the length
+            for (int p=1; p<size; p<<=1)
+                for (int k=p; k>=1; k>>=1)
+                    for (int j=k%p; j<=size - 1 - k; j+=2*k)
+                        for (int i=0; i<=Math.min(k - 1, size - j - k - 1); i++)
+                            if (((i + j)/(2*p) == (i + j + k)/(2*p)) && (i + j + k < len))
+                            {
+                                pairs[count++] = i + j;
+                                pairs[count++] = i + j + k;
+                            }
+
+            networks[len] = Arrays.copyOf(pairs, count);
+        }
+        return networks;
+    }
+
+    /* -- int ranges -- */
+
+    /**
+     * This method sorts the range [lo, hi) of the array by a sorting network
+     * or by insertion sort.
+     *
+     * @param array The array to be sorted.
+     * @param lo    The start of the range to be sorted.
+     * @param hi    The end of the range to be sorted.
+     */
+    static void sort(int[] array, int lo, int hi)
+    {
+        if (hi - lo <= NETWORK_MAX)
+            network(array, lo, hi);
+        else
+            insertion(array, lo, hi);
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of at most NETWORK_MAX elements of
+     * the array by a sorting network.
+     */
+    static void network(int[] array, int lo, int hi)
+    {
+        int[] pairs = NETWORKS[hi - lo];
+        for (int c=0; c<pairs.length; c+=2)
+        {
+            int i = lo + pairs[c];
+            int j = lo + pairs[c + 1];
+            int a = array[i];
+            int b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of the array by insertion sort.
+     */
+    static void insertion(int[] array, int lo, int hi)
+    {
+        for (int i=lo + 1; i<hi; i++)
+        {
+            int value = array[i];
+            int j = i - 1;
+            while ((j >= lo) && AbstractIntSort.less(value, array[j]))
+            {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /* -- long ranges -- */
+
+    /**
+     * This method sorts the range [lo, hi) of the array by a sorting network
+     * or by insertion sort.
+     *
+     * @param array The array to be sorted.
+     * @param lo    The start of the range to be sorted.
+     * @param hi    The end of the range to be sorted.
+     */
+    static void sort(long[] array, int lo, int hi)
+    {
+        if (hi - lo <= NETWORK_MAX)
+            network(array, lo, hi);
+        else
+            insertion(array, lo, hi);
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of at most NETWORK_MAX elements of
+     * the array by a sorting network.
+     */
+    static void network(long[] array, int lo, int hi)
+    {
+        int[] pairs = NETWORKS[hi - lo];
+        for (int c=0; c<pairs.length; c+=2)
+        {
+            int i = lo + pairs[c];
+            int j = lo + pairs[c + 1];
+            long a = array[i];
+            long b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of the array by insertion sort.
+     */
+    static void insertion(long[] array, int lo, int hi)
+    {
+        for (int i=lo + 1; i<hi; i++)
+        {
+            long value = array[i];
+            int j = i - 1;
+            while ((j >= lo) && AbstractLongSort.less(value, array[j]))
+            {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /* -- double ranges -- */
+
+    /**
+     * This method sorts the range [lo, hi) of the array by a sorting network
+     * or by insertion sort.
+     *
+     * @param array The array to be sorted.
+     * @param lo    The start of the range to be sorted.
+     * @param hi    The end of the range to be sorted.
+     */
+    static void sort(double[] array, int lo, int hi)
+    {
+        if (hi - lo <= NETWORK_MAX)
+            network(array, lo, hi);
+        else
+            insertion(array, lo, hi);
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of at most NETWORK_MAX elements of
+     * the array by a sorting network.
+     */
+    static void network(double[] array, int lo, int hi)
+    {
+        int[] pairs = NETWORKS[hi - lo];
+        for (int c=0; c<pairs.length; c+=2)
+        {
+            int i = lo + pairs[c];
+            int j = lo + pairs[c + 1];
+            double a = array[i];
+            double b = array[j];
+            if (AbstractDoubleSort.less(b, a))
+            {
+                array[i] = b;
+                array[j] = a;
+            }
+        }
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of the array by insertion sort.
+     */
+    static void insertion(double[] array, int lo, int hi)
+    {
+        for (int i=lo + 1; i<hi; i++)
+        {
+            double value = array[i];
+            int j = i - 1;
+            while ((j >= lo) && AbstractDoubleSort.less(value, array[j]))
+            {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /* -- float ranges -- */
+
+    /**
+     * This method sorts the range [lo, hi) of the array by a sorting network
+     * or by insertion sort.
+     *
+     * @param array The array to be sorted.
+     * @param lo    The start of the range to be sorted.
+     * @param hi    The end of the range to be sorted.
+     */
+    static void sort(float[] array, int lo, int hi)
+    {
+        if (hi - lo <= NETWORK_MAX)
+            network(array, lo, hi);
+        else
+            insertion(array, lo, hi);
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of at most NETWORK_MAX elements of
+     * the array by a sorting network.
+     */
+    static void network(float[] array, int lo, int hi)
+    {
+        int[] pairs = NETWORKS[hi - lo];
+        for (int c=0; c<pairs.length; c+=2)
+        {
+            int i = lo + pairs[c];
+            int j = lo + pairs[c + 1];
+            float a = array[i];
+            float b = array[j];
+            if (AbstractFloatSort.less(b, a))
+            {
+                array[i] = b;
+                array[j] = a;
+            }
+        }
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of the array by insertion sort.
+     */
+    static void insertion(float[] array, int lo, int hi)
+    {
+        for (int i=lo + 1; i<hi; i++)
+        {
+            float value = array[i];
+            int j = i - 1;
+            while ((j >= lo) && AbstractFloatSort.less(value, array[j]))
+            {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package data.sorting;
 
 import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 /**
  * A generic sorting interface containing useful methods in sorting objects
@@ -33,6 +35,60 @@ public interface Sort<T>
      */
     void sort();
 
+    /**
+     * This method rearranges the array so that the element at position k is
+     * the element that would be there in sorted order, with no larger
+     * elements before it and no smaller elements after it.
+     *
+     * @param k The position of the element to select.
+     * @return  The k-th smallest element (0-based).
+     */
+    T select(int k);
+
+    /**
+     * This method sorts the k smallest elements of the array into the first
+     * k positions, leaving the remaining elements in an unspecified order.
+     *
+     * @param k The number of smallest elements to sort.
+     */
+    void partialSort(int k);
+
+    /**
+     * This method returns the first k elements of the sorted order of the
+     * array, without modifying the array.
+     *
+     * @param k The number of elements to return.
+     * @return  The k smallest elements in ascending order.
+     */
+    T[] topK(int k);
+
+    /**
+     * This method stably sorts the array by the long key of each element,
+     * extracting every key once.
+     *
+     * @param key   The function extracting the sort key of an element.
+     */
+    void sortByLong(ToLongFunction<T> key);
+
+    /**
+     * This method stably sorts the array by the natural order of the key of
+     * each element, extracting every key once.
+     *
+     * @param key   The function extracting the sort key of an element.
+     * @param <K>   The type of the sort keys.
+     */
+    <K extends Comparable<? super K>> void sortBy(Function<T, K> key);
+
+    /**
+     * This method stably sorts the array by the key of each element in the
+     * order of the key comparator, extracting every key once.
+     *
+     * @param key       The function extracting the sort key of an element.
+     * @param keyComp   The comparator to use for ordering the keys.
+     * @param <K>       The type of the sort keys.
+     */
+    <K> void sortBy(Function<T, K> key, Comparator<? super K> keyComp);
+
     /**
      * This method checks if the array is sorted in ascending order.
      *
@@ -0,0 +1,123 @@
+package data.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import data.comparators.TComp;
+
+/**
+ * The SortBenchmark class times the sorting classes on random arrays and
+ * prints the best time of several runs for each.
+ *
+ * Usage:
+ *
+ *      java data.sorting.SortBenchmark [n] [runs] [cutoffs]
+ *
+ * where n is the array length (default 10,000,000) and runs is the number of
+ * timed runs per sort (default 5). With the word cutoffs, the quicksorts and
+ * mergesorts are instead timed over a range of small-range cutoffs.
+ */
+public class SortBenchmark
+{
+    static final int[] CUTOFFS = {1, 4, 8, 12, 16, 24, 32, 64};    // the swept cutoffs
+
+    /**
+     * This method runs the benchmark.
+     *
+     * @param args  The optional array length and number of runs.
+     */
+    public static void main(String[] args)
+    {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000_000;
+        int runs = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+        Random random = new Random(42);
+        int[] ints = new int[n];
+        for (int i=0; i<n; i++)
+            ints[i] = random.nextInt();
+        long[] longs = new long[n];
+        for (int i=0; i<n; i++)
+            longs[i] = random.nextLong();
+        Integer[] boxed = new Integer[n];
+        for (int i=0; i<n; i++)
+            boxed[i] = ints[i];
+        String[] strings = new String[n];
+        for (int i=0; i<n; i++)
+            strings[i] = Long.toString(longs[i] & 0xFFFFFFFFFFL, 36);
+
+        System.out.printf("sorting %d elements, best of %d runs:\n\n", n, runs);
+        Comparator<Integer> comp = Integer::compare;
+
+        if ((args.length > 2) && args[2].equals("cutoffs"))
+        {
+            for (int cutoff : CUTOFFS)
+            {
+                time("IntQuickSort/" + cutoff, runs, () -> {
+                    IntQuickSort sort = new IntQuickSort(ints.clone());
+                    sort.setCutoff(cutoff);
+                    sort.sort();
+                });
+                time("IntMergeSort/" + cutoff, runs, () -> {
+                    IntMergeSort sort = new IntMergeSort(ints.clone());
+                    sort.setCutoff(cutoff);
+                    sort.sort();
+                });
+                time("QuickSort<Integer>/" + cutoff, runs, () -> {
+                    QuickSort<Integer> sort = new QuickSort<>(boxed.clone(), comp);
+                    sort.setCutoff(cutoff);
+                    sort.sort();
+                });
+                time("MergeSort<Integer>/" + cutoff, runs, () -> {
+                    MergeSort<Integer> sort = new MergeSort<>(boxed.clone(), comp);
+                    sort.setCutoff(cutoff);
+                    sort.sort();
+                });
+            }
+            return;
+        }
+
+        time("QuickSort<Integer>", runs, () -> new QuickSort<>(boxed.clone(), comp).sort());
+        time("QuickSort<Integer> TComp", runs, () -> new QuickSort<>(boxed.clone(), new TComp<Integer>()).sort());
+        time("QuickSort<Integer> forClass", runs, () -> new QuickSort<>(boxed.clone(),
+                TComp.forClass(Integer.class)).sort());
+        time("RadixSort<Integer>", runs, () -> new RadixSort<>(boxed.clone(), Integer::intValue).sort());
+        time("IntQuickSort", runs, () -> new IntQuickSort(ints.clone()).sort());
+        time("IntRadixSort", runs, () -> new IntRadixSort(ints.clone()).sort());
+        time("Arrays.sort(int[])", runs, () -> Arrays.sort(ints.clone()));
+        time("LongQuickSort", runs, () -> new LongQuickSort(longs.clone()).sort());
+        time("LongRadixSort", runs, () -> new LongRadixSort(longs.clone()).sort());
+        time("QuickSort<String>", runs, () -> new QuickSort<>(strings.clone(), Comparator.naturalOrder()).sort());
+        time("QuickSort<String> TComp", runs, () -> new QuickSort<>(strings.clone(), new TComp<String>()).sort());
+        time("QuickSort<String> forClass", runs, () -> new QuickSort<>(strings.clone(),
+                TComp.forClass(String.class)).sort());
+        time("StringRadixSort", runs, () -> new StringRadixSort(strings.clone()).sort());
+        time("QuickSort<String> parsed", runs, () -> new QuickSort<>(strings.clone(),
+                Comparator.comparingLong((String t) -> Long.parseLong(t, 36))).sort());
+        time("sortByLong parsed", runs, () -> new QuickSort<>(strings.clone(), null)
+                .sortByLong(t -> Long.parseLong(t, 36)));
+    }
+
+    /**
+     * This method prints the best time of the runs of the sort, including
+     * the time to copy the input array.
+     *
+     * @param name  The name of the sort.
+     * @param runs  The number of timed runs.
+     * @param sort  The sort to run.
+     */
+    static void time(String name, int runs, Runnable sort)
+    {
+        // warm up the sort before timing it
+        sort.run();
+
+        long best = Long.MAX_VALUE;
+        for (int i=0; i<runs; i++)
+        {
+            long start = System.nanoTime();
+            sort.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %8.1f ms\n", name, best / 1e6);
+    }
+}
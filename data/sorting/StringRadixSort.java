@@ -0,0 +1,153 @@
+package data.sorting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A sorting class that implements a most-significant-digit (MSD) radix sort
+ * on an array of strings, in the natural order of String.compareTo().
+ *
+ * The strings are distributed by 8-bit digits of their chars from the first
+ * char onward, where each char is split into a high and a low byte digit and
+ * the high byte pass is skipped when every char at that position is below
+ * 256 (such as ASCII keys). Strings that end before the position order first
+ * and are not distributed further, and buckets of at most CUTOFF strings
+ * are finished by an insertion sort.
+ *
+ *  Worst-case performance: O(w*n)          [w = total key chars]
+ *  Best-case performance:  O(n*log(n)/8)   [distinct random keys]
+ *
+ *  Average performance:    O(n*log(n)/8)
+ *
+ *  Worst-case complexity:  O(n + w*R)      [auxiliary, R = 256]
+ */
+public class StringRadixSort extends AbstractSort<String> implements Sort<String>
+{
+    static final int RADIX = 256;   // the number of digit values
+    static final int CUTOFF = 16;   // max bucket size sorted by insertion
+
+    private String[] buffer;        // the reusable auxiliary scatter buffer
+    private int[][] counts;         // the reusable digit counts per level
+
+    /**
+     * The constructor for a radix sort object.
+     *
+     * @param array The initial array to associate with this object.
+     */
+    public StringRadixSort(String[] array)
+    {
+        init(array, Comparator.naturalOrder());
+    }
+
+    /**
+     * This method performs a radix sort on the array.
+     */
+    public void sort()
+    {
+        int n = array.length;
+        if (n < 2)
+            return;
+        if ((buffer == null) || (buffer.length < n))
+            buffer = new String[n];
+        step(0, n, 0, true);
+    }
+
+    /**
+     * This method recursively distributes the range [lo, hi) of strings that
+     * share their first d chars by the high or low byte of char d.
+     */
+    private void step(int lo, int hi, int d, boolean high)
+    {
+        if (hi - lo <= CUTOFF)
+        {
+            insertion(lo, hi);
+            return;
+        }
+
+        // skip the high byte pass if every char at d is below 256
+        if (high && !wide(lo, hi, d))
+            high = false;
+
+        // count the digits, with ended strings counted before digit 0
+        int[] count = count(2*d + (high ? 0 : 1));
+        for (int i=lo; i<hi; i++)
+            count[digit(array[i], d, high) + 2]++;
+
+        // convert the counts to starting positions
+        for (int r=0; r<=RADIX; r++)
+            count[r + 1] += count[r];
+
+        // distribute the strings through the buffer
+        for (int i=lo; i<hi; i++)
+            buffer[lo + count[digit(array[i], d, high) + 1]++] = array[i];
+        System.arraycopy(buffer, lo, array, lo, hi - lo);
+
+        // recursive step each bucket on the next digit
+        for (int r=0; r<RADIX; r++)
+        {
+            if (count[r + 1] - count[r] > 1)
+            {
+                if (high)
+                    step(lo + count[r], lo + count[r + 1], d, false);
+                else
+                    step(lo + count[r], lo + count[r + 1], d + 1, true);
+            }
+        }
+    }
+
+    /**
+     * This method returns the byte digit of char d of the string, or -1 if
+     * the string ends before char d.
+     */
+    private static int digit(String s, int d, boolean high)
+    {
+        if (d >= s.length())
+            return -1;
+        char c = s.charAt(d);
+        return high ? (c >>> 8) : (c & 0xFF);
+    }
+
+    /**
+     * This method returns true if any string in the range [lo, hi) has a
+     * char at position d that is not below 256.
+     */
+    private boolean wide(int lo, int hi, int d)
+    {
+        for (int i=lo; i<hi; i++)
+            if ((d < array[i].length()) && (array[i].charAt(d) > 0xFF))
+                return true;
+        return false;
+    }
+
+    /**
+     * This method returns the zeroed digit counts for the recursion level.
+     */
+    private int[] count(int level)
+    {
+        if ((counts == null) || (counts.length <= level))
+            counts = Arrays.copyOf((counts == null) ? new int[0][] : counts, 2*level + 2);
+        if (counts[level] == null)
+            counts[level] = new int[RADIX + 2];
+        else
+            Arrays.fill(counts[level], 0);
+        return counts[level];
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of the array by insertion sort.
+     */
+    private void insertion(int lo, int hi)
+    {
+        for (int i=lo + 1; i<hi; i++)
+        {
+            String value = array[i];
+            int j = i;
+            while ((j > lo) && (value.compareTo(array[j - 1]) < 0))
+            {
+                array[j] = array[j - 1];
+                j--;
+            }
+            array[j] = value;
+        }
+    }
+}
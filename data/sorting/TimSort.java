@@ -0,0 +1,606 @@
+package data.sorting;
+
+import java.util.Comparator;
+
+/**
+ * A sorting class that implements the adaptive, stable timsort algorithm, a
+ * natural mergesort variant (Peters 2002).
+ *
+ * The array is scanned for ascending and strictly descending runs, which are
+ * reversed in place. Runs shorter than the minimum run length are extended
+ * with a binary insertion sort, and the runs are merged from a stack that
+ * keeps their lengths balanced. Each merge gallops through long stretches
+ * taken from the same run, so presorted and nearly sorted arrays are sorted
+ * in close to linear time. As in java.util.Arrays.sort(), a comparator that
+ * is found to violate its contract during a merge throws an
+ * IllegalArgumentException rather than leaving the array corrupted.
+ *
+ *  Worst-case performance: O(n*log(n))
+ *  Best-case performance:  O(n)            [presorted runs]
+ *
+ *  Average performance:    O(n*log(n))
+ *
+ *  Worst-case complexity:  O(n)            [auxiliary]
+ */
+public class TimSort<T> extends AbstractSort<T> implements Sort<T>
+{
+    static final int MIN_MERGE = 32;    // max array size sorted by insertion
+    static final int MIN_GALLOP = 7;    // initial galloping threshold
+    static final int MAX_RUNS = 49;     // max pending runs for any int length
+
+    private T[] buffer;         // the reusable auxiliary merge buffer
+    private int minGallop;      // the adaptive galloping threshold
+    private int[] runBase;      // the start positions of the pending runs
+    private int[] runLen;       // the lengths of the pending runs
+    private int runs;           // the number of pending runs
+
+    /**
+     * The constructor for a timsort object.
+     *
+     * @param array The initial array to associate with this object.
+     * @param comp  The comparator to use for sorting the array.
+     */
+    public TimSort(T[] array, Comparator<T> comp)
+    {
+        init(array, comp);
+    }
+
+    /**
+     * This method performs a timsort on the array.
+     */
+    public void sort()
+    {
+        int n = array.length;
+        if (n < 2)
+            return;
+
+        // sort small arrays with a single binary insertion sort
+        if (n < MIN_MERGE)
+        {
+            binaryInsertion(0, n, countRun(0, n));
+            return;
+        }
+
+        if (runBase == null)
+        {
+            runBase = new int[MAX_RUNS];
+            runLen = new int[MAX_RUNS];
+        }
+        minGallop = MIN_GALLOP;
+        runs = 0;
+
+        int minRun = minRun(n);
+        int lo = 0;
+        while (lo < n)
+        {
+            // find the next run, extending it to the minimum run length
+            int run = countRun(lo, n);
+            if (run < minRun)
+            {
+                int force = Math.min(n - lo, minRun);
+                binaryInsertion(lo, lo + force, lo + run);
+                run = force;
+            }
+
+            // push the run and merge until the stack invariants hold
+            runBase[runs] = lo;
+            runLen[runs] = run;
+            runs++;
+            mergeCollapse();
+            lo += run;
+        }
+
+        // merge all of the remaining runs
+        while (runs > 1)
+        {
+            int i = runs - 2;
+            if ((i > 0) && (runLen[i - 1] < runLen[i + 1]))
+                i--;
+            mergeAt(i);
+        }
+    }
+
+    /**
+     * This method returns the minimum run length for an array of length n,
+     * such that n/minRun is a power of two or slightly less.
+     */
+    private static int minRun(int n)
+    {
+        int r = 0;
+        while (n >= MIN_MERGE)
+        {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * This method returns the length of the run starting at lo, reversing
+     * the run in place if it is strictly descending.
+     */
+    private int countRun(int lo, int hi)
+    {
+        int runHi = lo + 1;
+        if (runHi == hi)
+            return 1;
+
+        if (comp.compare(array[runHi++], array[lo]) < 0)
+        {
+            // strictly descending run
+            while ((runHi < hi) && (comp.compare(array[runHi], array[runHi - 1]) < 0))
+                runHi++;
+            reverse(lo, runHi);
+        }
+        else
+        {
+            // ascending run
+            while ((runHi < hi) && (comp.compare(array[runHi], array[runHi - 1]) >= 0))
+                runHi++;
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * This method reverses the range [lo, hi) of the array.
+     */
+    private void reverse(int lo, int hi)
+    {
+        hi--;
+        while (lo < hi)
+            swap(lo++, hi--);
+    }
+
+    /**
+     * This method sorts the range [lo, hi) of the array by a binary insertion
+     * sort, where the range [lo, start) is already sorted.
+     */
+    private void binaryInsertion(int lo, int hi, int start)
+    {
+        for (int i=start; i<hi; i++)
+        {
+            T pivot = array[i];
+
+            // find the position after the last element not larger than pivot
+            int l = lo;
+            int r = i;
+            while (l < r)
+            {
+                int mid = (l + r) >>> 1;
+                if (comp.compare(pivot, array[mid]) < 0)
+                    r = mid;
+                else
+                    l = mid + 1;
+            }
+
+            // shift the larger elements and insert the pivot
+            System.arraycopy(array, l, array, l + 1, i - l);
+            array[l] = pivot;
+        }
+    }
+
+    /**
+     * This method merges the pending runs until the run lengths satisfy
+     * len[i-2] > len[i-1] + len[i] and len[i-1] > len[i] at the top of the
+     * stack.
+     */
+    private void mergeCollapse()
+    {
+        while (runs > 1)
+        {
+            int i = runs - 2;
+            if (((i > 0) && (runLen[i - 1] <= runLen[i] + runLen[i + 1]))
+                    || ((i > 1) && (runLen[i - 2] <= runLen[i] + runLen[i - 1])))
+            {
+                if (runLen[i - 1] < runLen[i + 1])
+                    i--;
+            }
+            else if (runLen[i] > runLen[i + 1])
+            {
+                break;
+            }
+            mergeAt(i);
+        }
+    }
+
+    /**
+     * This method merges the pending runs at stack positions i and i+1.
+     */
+    private void mergeAt(int i)
+    {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+
+        // record the merged run and slide the top run down if necessary
+        runLen[i] = len1 + len2;
+        if (i == runs - 3)
+        {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        runs--;
+
+        // skip the elements of run 1 already in place
+        int k = gallopRight(array[base2], array, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0)
+            return;
+
+        // skip the elements of run 2 already in place
+        len2 = gallopLeft(array[base1 + len1 - 1], array, base2, len2, len2 - 1);
+        if (len2 == 0)
+            return;
+
+        // merge through a buffer the size of the smaller run
+        if (len1 <= len2)
+            mergeLo(base1, len1, base2, len2);
+        else
+            mergeHi(base1, len1, base2, len2);
+    }
+
+    /**
+     * This method returns the position k in the sorted range a[base, base+len)
+     * where a[base+k-1] < key <= a[base+k], galloping out from the hint.
+     */
+    private int gallopLeft(T key, T[] a, int base, int len, int hint)
+    {
+        int lastOfs = 0;
+        int ofs = 1;
+
+        if (comp.compare(key, a[base + hint]) > 0)
+        {
+            // gallop right until a[base+hint+lastOfs] < key <= a[base+hint+ofs]
+            int maxOfs = len - hint;
+            while ((ofs < maxOfs) && (comp.compare(key, a[base + hint + ofs]) > 0))
+            {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0)
+                    ofs = maxOfs;
+            }
+            if (ofs > maxOfs)
+                ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+        else
+        {
+            // gallop left until a[base+hint-ofs] < key <= a[base+hint-lastOfs]
+            int maxOfs = hint + 1;
+            while ((ofs < maxOfs) && (comp.compare(key, a[base + hint - ofs]) <= 0))
+            {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0)
+                    ofs = maxOfs;
+            }
+            if (ofs > maxOfs)
+                ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+
+        // binary search between the gallop bounds
+        lastOfs++;
+        while (lastOfs < ofs)
+        {
+            int mid = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (comp.compare(key, a[base + mid]) > 0)
+                lastOfs = mid + 1;
+            else
+                ofs = mid;
+        }
+        return ofs;
+    }
+
+    /**
+     * This method returns the position k in the sorted range a[base, base+len)
+     * where a[base+k-1] <= key < a[base+k], galloping out from the hint.
+     */
+    private int gallopRight(T key, T[] a, int base, int len, int hint)
+    {
+        int lastOfs = 0;
+        int ofs = 1;
+
+        if (comp.compare(key, a[base + hint]) < 0)
+        {
+            // gallop left until a[base+hint-ofs] <= key < a[base+hint-lastOfs]
+            int maxOfs = hint + 1;
+            while ((ofs < maxOfs) && (comp.compare(key, a[base + hint - ofs]) < 0))
+            {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0)
+                    ofs = maxOfs;
+            }
+            if (ofs > maxOfs)
+                ofs = maxOfs;
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        else
+        {
+            // gallop right until a[base+hint+lastOfs] <= key < a[base+hint+ofs]
+            int maxOfs = len - hint;
+            while ((ofs < maxOfs) && (comp.compare(key, a[base + hint + ofs]) >= 0))
+            {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0)
+                    ofs = maxOfs;
+            }
+            if (ofs > maxOfs)
+                ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+
+        // binary search between the gallop bounds
+        lastOfs++;
+        while (lastOfs < ofs)
+        {
+            int mid = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (comp.compare(key, a[base + mid]) < 0)
+                ofs = mid;
+            else
+                lastOfs = mid + 1;
+        }
+        return ofs;
+    }
+
+    /**
+     * This method merges the adjacent runs from the left, copying the
+     * smaller run 1 to the buffer, where the first element of run 2 orders
+     * before the first element of run 1 and the last element of run 1 orders
+     * after all of run 2.
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2)
+    {
+        T[] a = array;
+        T[] tmp = buffer(len1);
+        System.arraycopy(a, base1, tmp, 0, len1);
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+
+        // move the first element of run 2 and handle the degenerate cases
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0)
+        {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1)
+        {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+
+        int gallop = minGallop;
+        outer:
+        while (true)
+        {
+            int count1 = 0;
+            int count2 = 0;
+
+            // merge one element at a time until one run keeps winning
+            do
+            {
+                if (comp.compare(a[cursor2], tmp[cursor1]) < 0)
+                {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0)
+                        break outer;
+                }
+                else
+                {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1)
+                        break outer;
+                }
+            } while ((count1 | count2) < gallop);
+
+            // gallop until neither run wins by a long stretch
+            do
+            {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0)
+                {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1)
+                        break outer;
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0)
+                    break outer;
+
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0)
+                {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0)
+                        break outer;
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1)
+                    break outer;
+                gallop--;
+            } while ((count1 >= MIN_GALLOP) | (count2 >= MIN_GALLOP));
+
+            // penalize leaving the galloping mode
+            if (gallop < 0)
+                gallop = 0;
+            gallop += 2;
+        }
+        minGallop = Math.max(gallop, 1);
+
+        // copy the remaining elements
+        if (len1 == 1)
+        {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        }
+        else if (len1 == 0)
+        {
+            // run 1 ends with its largest element, so a comparator that is
+            // consistent never empties it by a gallop
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        }
+        else
+        {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * This method merges the adjacent runs from the right, copying the
+     * smaller run 2 to the buffer, where the first element of run 2 orders
+     * before the first element of run 1 and the last element of run 1 orders
+     * after all of run 2.
+     */
+    private void mergeHi(int base1, int len1, int base2, int len2)
+    {
+        T[] a = array;
+        T[] tmp = buffer(len2);
+        System.arraycopy(a, base2, tmp, 0, len2);
+
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+
+        // move the last element of run 1 and handle the degenerate cases
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0)
+        {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1)
+        {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+
+        int gallop = minGallop;
+        outer:
+        while (true)
+        {
+            int count1 = 0;
+            int count2 = 0;
+
+            // merge one element at a time until one run keeps winning
+            do
+            {
+                if (comp.compare(tmp[cursor2], a[cursor1]) < 0)
+                {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0)
+                        break outer;
+                }
+                else
+                {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1)
+                        break outer;
+                }
+            } while ((count1 | count2) < gallop);
+
+            // gallop until neither run wins by a long stretch
+            do
+            {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0)
+                {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0)
+                        break outer;
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1)
+                    break outer;
+
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0)
+                {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1)
+                        break outer;
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0)
+                    break outer;
+                gallop--;
+            } while ((count1 >= MIN_GALLOP) | (count2 >= MIN_GALLOP));
+
+            // penalize leaving the galloping mode
+            if (gallop < 0)
+                gallop = 0;
+            gallop += 2;
+        }
+        minGallop = Math.max(gallop, 1);
+
+        // copy the remaining elements
+        if (len2 == 1)
+        {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        }
+        else if (len2 == 0)
+        {
+            // run 2 starts with its smallest element, so a comparator that
+            // is consistent never empties it by a gallop
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        }
+        else
+        {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    /**
+     * This method returns the merge buffer, growing it to hold at least the
+     * specified number of elements.
+     */
+    private T[] buffer(int min)
+    {
+        if ((buffer == null) || (buffer.length < min))
+        {
+            @SuppressWarnings("unchecked")
+            T[] b = (T[]) new Object[Math.max(min, Math.min(2*min, array.length >>> 1))];
+            buffer = b;
+        }
+        return buffer;
+    }
+}
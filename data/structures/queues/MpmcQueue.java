@@ -0,0 +1,380 @@
+package data.structures.queues;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, lock-free queue backed by a ring buffer that any number of
+ * producer and consumer threads can share (multi-producer/multi-consumer).
+ *
+ * Each slot of the ring carries a sequence number that tells which lap of
+ * the ring it is ready for (Vyukov's bounded MPMC queue): a producer claims
+ * the tail position by a CAS when the slot's sequence equals the position,
+ * writes the element and publishes it by setting the sequence to position+1,
+ * and a consumer claims the head position when the slot's sequence equals
+ * position+1, takes the element and frees the slot for the next lap by
+ * setting the sequence to position+capacity. Producers and consumers only
+ * contend on their own counter, and the two counters are padded to separate
+ * cache lines. The batch methods claim a run of ready slots by a single CAS.
+ * A claimed slot must always be published (or freed), or the queue stalls
+ * on it, so a slot that fill() claimed but could not fill holds an empty
+ * placeholder, which the consumers free and skip.
+ *
+ * The capacity is rounded up to a power of two, and null elements are not
+ * allowed. The offer() and poll() methods never block; enqueue() and
+ * dequeue() spin, then yield, until they succeed. The front(), back() and
+ * length() methods are snapshots that may be stale under concurrent use.
+ *
+ *  Worst-case performance: O(1)    [offer, poll, without contention]
+ *
+ *  Worst-case complexity:  O(n)
+ *
+ * @param <T>   The type of objects to be stored in the queue.
+ */
+public class MpmcQueue<T> implements Queue<T>
+{
+	private static final Object EMPTY = new Object();	// the placeholder of an unfilled slot
+
+	private Object[] buffer;			// the elements of the ring
+	private AtomicLongArray sequence;	// the sequence number of each slot
+	private int mask;					// the capacity - 1
+	private PaddedCounter tail;			// the next position to enqueue
+	private PaddedCounter head;			// the next position to dequeue
+
+	/**
+	 * The constructor for a queue with a max size of n.
+	 *
+	 * @param n The maximum capacity of the queue (rounded up to a power of two).
+	 */
+	public MpmcQueue(int n)
+	{
+		init(n);
+	}
+
+	/**
+	 * This method initializes an empty queue with a max size of n, rounded
+	 * up to a power of two. It is not safe to call while the queue is used.
+	 *
+	 * @param n The maximum capacity of the queue.
+	 */
+	@Override
+	public void init(int n)
+	{
+		int capacity = (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+		buffer = new Object[capacity];
+		sequence = new AtomicLongArray(capacity);
+		for (int i=0; i<capacity; i++)
+			sequence.set(i, i);
+		mask = capacity - 1;
+		tail = new PaddedCounter();
+		head = new PaddedCounter();
+	}
+
+	/**
+	 * This method enqueues the element if the queue is not full.
+	 *
+	 * @param x The element to be enqueued.
+	 * @return  True if the element was enqueued, false if the queue is full.
+	 */
+	public boolean offer(T x)
+	{
+		if (x == null)
+		{
+			System.out.println("ERROR! Null elements cannot be enqueued.");
+			return false;
+		}
+		long pos = tail.get();
+		while (true)
+		{
+			int i = (int) pos & mask;
+			long diff = sequence.get(i) - pos;
+			if (diff == 0)
+			{
+				// the slot is free on this lap, so claim the position
+				if (tail.compareAndSet(pos, pos + 1))
+				{
+					buffer[i] = x;
+					sequence.lazySet(i, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			}
+			else if (diff < 0)
+				return false;		// the slot still holds the previous lap
+			else
+				pos = tail.get();	// another producer claimed the position
+		}
+	}
+
+	/**
+	 * This method dequeues the next FIFO element if the queue is not empty.
+	 *
+	 * @return  The front element removed from the queue (null if empty).
+	 */
+	@SuppressWarnings("unchecked")
+	public T poll()
+	{
+		long pos = head.get();
+		while (true)
+		{
+			int i = (int) pos & mask;
+			long diff = sequence.get(i) - (pos + 1);
+			if (diff == 0)
+			{
+				// the slot is published on this lap, so claim the position
+				if (head.compareAndSet(pos, pos + 1))
+				{
+					Object x = buffer[i];
+					buffer[i] = null;
+					sequence.lazySet(i, pos + mask + 1);
+					if (x != EMPTY)
+						return (T) x;
+				}
+				pos = head.get();
+			}
+			else if (diff < 0)
+				return null;		// the slot is not yet published
+			else
+				pos = head.get();	// another consumer claimed the position
+		}
+	}
+
+	/**
+	 * This method enqueues the specified element into the queue, waiting
+	 * while the queue is full.
+	 *
+	 * @param x The element to be enqueued.
+	 */
+	@Override
+	public void enqueue(T x)
+	{
+		if (x == null)
+		{
+			System.out.println("ERROR! Null elements cannot be enqueued.");
+			return;
+		}
+		for (int spins=0; !offer(x); spins++)
+			WaitStrategy.YIELD.idle(spins);
+	}
+
+	/**
+	 * This method dequeues the next FIFO element from the queue, waiting
+	 * while the queue is empty.
+	 *
+	 * @return  The front element removed from the queue.
+	 */
+	@Override
+	public T dequeue()
+	{
+		T x;
+		for (int spins=0; (x = poll()) == null; spins++)
+			WaitStrategy.YIELD.idle(spins);
+		return x;
+	}
+
+	/**
+	 * This method enqueues up to max elements from the supplier, claiming
+	 * the free slots by a single CAS, and returns how many were enqueued.
+	 * The supplier must not return null: a null element is reported and
+	 * ends the batch. If the supplier returns null or throws, the slots it
+	 * did not fill are still published, holding the empty placeholder.
+	 *
+	 * @param supplier  The supplier of the elements to enqueue.
+	 * @param max       The maximum number of elements to enqueue.
+	 * @return  The number of elements enqueued.
+	 */
+	public int fill(Supplier<? extends T> supplier, int max)
+	{
+		while (true)
+		{
+			// count the free slots from the tail
+			long pos = tail.get();
+			int k = 0;
+			while ((k < max) && (k <= mask) && (sequence.get((int) (pos + k) & mask) == pos + k))
+				k++;
+			if (k == 0)
+				return 0;
+
+			if (tail.compareAndSet(pos, pos + k))
+			{
+				// publish every claimed slot, even if the supplier throws
+				int j = 0;
+				try
+				{
+					while (j < k)
+					{
+						T x = supplier.get();
+						if (x == null)
+						{
+							System.out.println("ERROR! Null elements cannot be enqueued.");
+							break;
+						}
+						int i = (int) (pos + j) & mask;
+						buffer[i] = x;
+						sequence.lazySet(i, pos + ++j);
+					}
+				}
+				finally
+				{
+					for (int e=j; e<k; e++)
+					{
+						int i = (int) (pos + e) & mask;
+						buffer[i] = EMPTY;
+						sequence.lazySet(i, pos + e + 1);
+					}
+				}
+				return j;
+			}
+		}
+	}
+
+	/**
+	 * This method dequeues up to max elements into the consumer, claiming
+	 * the published slots by a single CAS, and returns how many were
+	 * dequeued. The empty placeholders in the claimed slots are skipped, and
+	 * are not counted. If the consumer throws, every claimed slot is still
+	 * freed, and the elements not yet passed to the consumer are dropped.
+	 *
+	 * @param consumer  The consumer of the dequeued elements.
+	 * @param max       The maximum number of elements to dequeue.
+	 * @return  The number of elements dequeued.
+	 */
+	@SuppressWarnings("unchecked")
+	public int drainTo(Consumer<? super T> consumer, int max)
+	{
+		while (true)
+		{
+			// count the published slots from the head
+			long pos = head.get();
+			int k = 0;
+			while ((k < max) && (k <= mask) && (sequence.get((int) (pos + k) & mask) == pos + k + 1))
+				k++;
+			if (k == 0)
+				return 0;
+
+			if (head.compareAndSet(pos, pos + k))
+			{
+				// free every claimed slot, even if the consumer throws
+				int j = 0;
+				int n = 0;
+				try
+				{
+					while (j < k)
+					{
+						int i = (int) (pos + j) & mask;
+						Object x = buffer[i];
+						buffer[i] = null;
+						sequence.lazySet(i, pos + mask + ++j);
+						if (x != EMPTY)
+						{
+							consumer.accept((T) x);
+							n++;
+						}
+					}
+				}
+				finally
+				{
+					for (int e=j; e<k; e++)
+					{
+						int i = (int) (pos + e) & mask;
+						buffer[i] = null;
+						sequence.lazySet(i, pos + e + mask + 1);
+					}
+				}
+				return n;
+			}
+		}
+	}
+
+	/**
+	 * This method returns the element at the front of the queue.
+	 *
+	 * @return  The front element (null if empty).
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T front()
+	{
+		long pos = head.get();
+		int i = (int) pos & mask;
+		Object x = (sequence.get(i) == pos + 1) ? buffer[i] : null;
+		return (x != EMPTY) ? (T) x : null;
+	}
+
+	/**
+	 * This method returns the element at the back of the queue.
+	 *
+	 * @return  The back element (null if empty).
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T back()
+	{
+		long pos = tail.get() - 1;
+		int i = (int) pos & mask;
+		Object x = (sequence.get(i) == pos + 1) ? buffer[i] : null;
+		return (x != EMPTY) ? (T) x : null;
+	}
+
+	/**
+	 * This method returns the current length of the queue.
+	 *
+	 * @return  The number of claimed slots in the queue.
+	 */
+	@Override
+	public int length()
+	{
+		long h = head.get();
+		long t = tail.get();
+		return (int) Math.max(0, Math.min(t - h, mask + 1));
+	}
+
+	/**
+	 * This method returns the maximum capacity of the queue.
+	 *
+	 * @return  The capacity of the ring.
+	 */
+	@Override
+	public int maxLength()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * This method returns the empty status of the queue.
+	 *
+	 * @return  true if the queue has no claimed elements, otherwise false.
+	 */
+	@Override
+	public boolean isEmpty()
+	{
+		return head.get() >= tail.get();
+	}
+
+	/**
+	 * This method clears the queue by dequeuing its elements.
+	 */
+	@Override
+	public void clear()
+	{
+		while (poll() != null)
+			;
+	}
+
+	/**
+	 * This method prints the contents of the queue, from front to back.
+	 */
+	@Override
+	public void print()
+	{
+		long t = tail.get();
+		for (long pos=head.get(); pos<t; pos++)
+		{
+			Object x = buffer[(int) pos & mask];
+			if ((x != null) && (x != EMPTY))
+				System.out.print(x.toString() + " ");
+		}
+		System.out.println();
+	}
+}
@@ -0,0 +1,28 @@
+package data.structures.queues;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An atomic counter padded to its own cache line, so that the head and tail
+ * counters of a queue, which are written by different threads, do not share
+ * a cache line (false sharing). The counters are allocated one after the
+ * other, so the trailing padding of one separates it from the next.
+ *
+ * The cache field holds the last value the writer of this counter read from
+ * the opposite counter, so it shares the writer's cache line.
+ */
+@SuppressWarnings("unused")
+final class PaddedCounter extends AtomicLong
+{
+	private static final long serialVersionUID = 1L;
+
+	long cache;								// the cached value of the opposite counter
+	private long p1, p2, p3, p4, p5, p6, p7;	// the padding to a cache line
+
+	/**
+	 * The constructor for a counter at zero.
+	 */
+	PaddedCounter()
+	{
+	}
+}
@@ -0,0 +1,203 @@
+package data.structures.queues;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The QueueBenchmark class times the queues passing elements from producer
+ * threads to consumer threads and prints the best throughput of several
+ * runs for each, in millions of elements per second.
+ *
+ * Usage:
+ *
+ *      java data.structures.queues.QueueBenchmark [n] [producers] [consumers] [runs]
+ *
+ * where n is the number of elements passed per run (default 10,000,000),
+ * producers and consumers are the thread counts (default 1 each) and runs
+ * is the number of timed runs per queue (default 5). The batch methods pass
+ * the elements in batches of BATCH.
+ */
+public class QueueBenchmark
+{
+	static final int CAPACITY = 1 << 16;	// the capacity of the queues
+	static final int BATCH = 256;			// the max batch size
+
+	/**
+	 * A pass of the elements through a queue by one producer or consumer
+	 * thread, which returns a checksum of the elements it consumed.
+	 */
+	interface Pass
+	{
+		long run(int count);
+	}
+
+	/**
+	 * This method runs the benchmark.
+	 *
+	 * @param args  The optional element count, thread counts and runs.
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000_000;
+		int producers = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+		int consumers = (args.length > 2) ? Integer.parseInt(args[2]) : 1;
+		int runs = (args.length > 3) ? Integer.parseInt(args[3]) : 5;
+
+		System.out.printf("passing %d elements from %d producers to %d consumers, best of %d runs:\n\n",
+				n, producers, consumers, runs);
+
+		Integer[] elements = new Integer[1024];
+		for (int i=0; i<elements.length; i++)
+			elements[i] = i;
+
+		MpmcQueue<Integer> mpmc = new MpmcQueue<>(CAPACITY);
+		time("MpmcQueue", n, producers, consumers, runs,
+				count -> {
+					for (int i=0; i<count; i++)
+						mpmc.enqueue(elements[i & 1023]);
+					return 0;
+				},
+				count -> {
+					long sum = 0;
+					for (int i=0; i<count; i++)
+						sum += mpmc.dequeue();
+					return sum;
+				});
+		time("MpmcQueue batch", n, producers, consumers, runs,
+				count -> {
+					int[] next = {0};
+					for (int spins=0; next[0]<count; spins++)
+					{
+						if (mpmc.fill(() -> elements[next[0]++ & 1023], Math.min(BATCH, count - next[0])) > 0)
+							spins = 0;
+						else
+							WaitStrategy.YIELD.idle(spins);
+					}
+					return 0;
+				},
+				count -> {
+					long[] sum = {0};
+					int done = 0;
+					for (int spins=0; done<count; spins++)
+					{
+						int k = mpmc.drainTo(x -> sum[0] += x, Math.min(BATCH, count - done));
+						if (k > 0)
+						{
+							done += k;
+							spins = 0;
+						}
+						else
+							WaitStrategy.YIELD.idle(spins);
+					}
+					return sum[0];
+				});
+
+		// the single-producer/single-consumer queue needs one thread each
+		if ((producers != 1) || (consumers != 1))
+			return;
+		for (WaitStrategy wait : WaitStrategy.values())
+		{
+			SpscQueue<Integer> spsc = new SpscQueue<>(CAPACITY, wait);
+			time("SpscQueue " + wait, n, 1, 1, runs,
+					count -> {
+						for (int i=0; i<count; i++)
+							spsc.enqueue(elements[i & 1023]);
+						return 0;
+					},
+					count -> {
+						long sum = 0;
+						for (int i=0; i<count; i++)
+							sum += spsc.dequeue();
+						return sum;
+					});
+		}
+		SpscQueue<Integer> spsc = new SpscQueue<>(CAPACITY);
+		time("SpscQueue batch", n, 1, 1, runs,
+				count -> {
+					int[] next = {0};
+					for (int spins=0; next[0]<count; spins++)
+					{
+						if (spsc.fill(() -> elements[next[0]++ & 1023], Math.min(BATCH, count - next[0])) > 0)
+							spins = 0;
+						else
+							WaitStrategy.YIELD.idle(spins);
+					}
+					return 0;
+				},
+				count -> {
+					long[] sum = {0};
+					int done = 0;
+					for (int spins=0; done<count; spins++)
+					{
+						int k = spsc.drainTo(x -> sum[0] += x, Math.min(BATCH, count - done));
+						if (k > 0)
+						{
+							done += k;
+							spins = 0;
+						}
+						else
+							WaitStrategy.YIELD.idle(spins);
+					}
+					return sum[0];
+				});
+	}
+
+	/**
+	 * This method prints the best throughput of the runs of the producer
+	 * and consumer threads, each passing its share of the n elements.
+	 *
+	 * @param name      The name of the queue.
+	 * @param n         The number of elements passed per run.
+	 * @param producers The number of producer threads.
+	 * @param consumers The number of consumer threads.
+	 * @param runs      The number of timed runs.
+	 * @param producer  The pass of a producer thread.
+	 * @param consumer  The pass of a consumer thread.
+	 */
+	static void time(String name, int n, int producers, int consumers, int runs, Pass producer, Pass consumer)
+			throws InterruptedException
+	{
+		long best = Long.MAX_VALUE;
+		long check = 0;
+
+		// warm up the queue before timing it
+		for (int r=-1; r<runs; r++)
+		{
+			long[] sums = new long[consumers];
+			List<Thread> threads = new ArrayList<>();
+			for (int p=0; p<producers; p++)
+			{
+				int count = share(n, producers, p);
+				threads.add(new Thread(() -> producer.run(count)));
+			}
+			for (int c=0; c<consumers; c++)
+			{
+				int count = share(n, consumers, c);
+				int slot = c;
+				threads.add(new Thread(() -> sums[slot] = consumer.run(count)));
+			}
+
+			long start = System.nanoTime();
+			for (Thread thread : threads)
+				thread.start();
+			for (Thread thread : threads)
+				thread.join();
+			long time = System.nanoTime() - start;
+
+			if (r >= 0)
+				best = Math.min(best, time);
+			for (long sum : sums)
+				check += sum;
+		}
+		System.out.printf("%-28s %8.1f M/s  (%d)\n", name, n / (best / 1e3), check & 0xFF);
+	}
+
+	/**
+	 * This method returns the share of the n elements passed by thread i of
+	 * the k threads.
+	 */
+	static int share(int n, int k, int i)
+	{
+		return n/k + ((i < n%k) ? 1 : 0);
+	}
+}
@@ -0,0 +1,315 @@
+package data.structures.queues;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, lock-free queue backed by a ring buffer for passing elements
+ * from exactly one producer thread to exactly one consumer thread
+ * (single-producer/single-consumer).
+ *
+ * Each counter has a single writer, so no CAS is needed: the producer
+ * publishes an element by an ordered (lazySet) write of the tail after
+ * writing the slot, and the consumer frees a slot by an ordered write of
+ * the head after taking the element. Each side also caches the last value
+ * it read of the opposite counter and only reads that counter again when
+ * the cached value shows the queue as full (or empty), so in the steady
+ * state neither side touches the other's cache line. The batch methods
+ * publish a whole run of slots by one write of the counter.
+ *
+ * The offer(), enqueue() and fill() methods must only be called by the
+ * producer thread, and the poll(), dequeue(), drainTo(), front() and clear()
+ * methods only by the consumer thread. The enqueue() and dequeue() methods
+ * wait by the wait strategy of the queue while it is full (or empty). The
+ * capacity is rounded up to a power of two, and null elements are not
+ * allowed.
+ *
+ *  Worst-case performance: O(1)    [offer, poll]
+ *
+ *  Worst-case complexity:  O(n)
+ *
+ * @param <T>   The type of objects to be stored in the queue.
+ */
+public class SpscQueue<T> implements Queue<T>
+{
+	private Object[] buffer;		// the elements of the ring
+	private int mask;				// the capacity - 1
+	private WaitStrategy wait;		// how a blocked thread waits
+	private PaddedCounter tail;		// the next position to enqueue (cache: head)
+	private PaddedCounter head;		// the next position to dequeue (cache: tail)
+
+	/**
+	 * The constructor for a queue with a max size of n, whose blocked
+	 * threads spin, then yield.
+	 *
+	 * @param n The maximum capacity of the queue (rounded up to a power of two).
+	 */
+	public SpscQueue(int n)
+	{
+		this(n, WaitStrategy.YIELD);
+	}
+
+	/**
+	 * The constructor for a queue with a max size of n.
+	 *
+	 * @param n     The maximum capacity of the queue (rounded up to a power of two).
+	 * @param wait  The wait strategy of the blocked threads.
+	 */
+	public SpscQueue(int n, WaitStrategy wait)
+	{
+		this.wait = wait;
+		init(n);
+	}
+
+	/**
+	 * This method initializes an empty queue with a max size of n, rounded
+	 * up to a power of two. It is not safe to call while the queue is used.
+	 *
+	 * @param n The maximum capacity of the queue.
+	 */
+	@Override
+	public void init(int n)
+	{
+		int capacity = (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+		buffer = new Object[capacity];
+		mask = capacity - 1;
+		tail = new PaddedCounter();
+		head = new PaddedCounter();
+	}
+
+	/**
+	 * This method enqueues the element if the queue is not full.
+	 *
+	 * @param x The element to be enqueued.
+	 * @return  True if the element was enqueued, false if the queue is full.
+	 */
+	public boolean offer(T x)
+	{
+		if (x == null)
+		{
+			System.out.println("ERROR! Null elements cannot be enqueued.");
+			return false;
+		}
+		long t = tail.getPlain();
+		if ((t - tail.cache > mask) && (t - (tail.cache = head.get()) > mask))
+			return false;
+		buffer[(int) t & mask] = x;
+		tail.lazySet(t + 1);
+		return true;
+	}
+
+	/**
+	 * This method dequeues the next FIFO element if the queue is not empty.
+	 *
+	 * @return  The front element removed from the queue (null if empty).
+	 */
+	@SuppressWarnings("unchecked")
+	public T poll()
+	{
+		long h = head.getPlain();
+		if ((h >= head.cache) && (h >= (head.cache = tail.get())))
+			return null;
+		int i = (int) h & mask;
+		T x = (T) buffer[i];
+		buffer[i] = null;
+		head.lazySet(h + 1);
+		return x;
+	}
+
+	/**
+	 * This method enqueues the specified element into the queue, waiting
+	 * while the queue is full.
+	 *
+	 * @param x The element to be enqueued.
+	 */
+	@Override
+	public void enqueue(T x)
+	{
+		if (x == null)
+		{
+			System.out.println("ERROR! Null elements cannot be enqueued.");
+			return;
+		}
+		for (int spins=0; !offer(x); spins++)
+			wait.idle(spins);
+	}
+
+	/**
+	 * This method dequeues the next FIFO element from the queue, waiting
+	 * while the queue is empty.
+	 *
+	 * @return  The front element removed from the queue.
+	 */
+	@Override
+	public T dequeue()
+	{
+		T x;
+		for (int spins=0; (x = poll()) == null; spins++)
+			wait.idle(spins);
+		return x;
+	}
+
+	/**
+	 * This method enqueues up to max elements from the supplier into the
+	 * free slots, publishing them by one write of the tail, and returns how
+	 * many were enqueued. The supplier must not return null. If it throws,
+	 * the elements already supplied are still published.
+	 *
+	 * @param supplier  The supplier of the elements to enqueue.
+	 * @param max       The maximum number of elements to enqueue.
+	 * @return  The number of elements enqueued.
+	 */
+	public int fill(Supplier<? extends T> supplier, int max)
+	{
+		long t = tail.getPlain();
+		long free = mask + 1 - (t - tail.cache);
+		if (free < max)
+			free = mask + 1 - (t - (tail.cache = head.get()));
+		int k = (int) Math.max(0, Math.min(free, max));
+
+		// publish the elements supplied, even if the supplier throws
+		int j = 0;
+		try
+		{
+			while (j < k)
+			{
+				buffer[(int) (t + j) & mask] = supplier.get();
+				j++;
+			}
+		}
+		finally
+		{
+			if (j > 0)
+				tail.lazySet(t + j);
+		}
+		return k;
+	}
+
+	/**
+	 * This method dequeues up to max elements into the consumer, freeing
+	 * their slots by one write of the head, and returns how many were
+	 * dequeued. If the consumer throws, the elements already passed to it,
+	 * including the one it threw on, are still dequeued.
+	 *
+	 * @param consumer  The consumer of the dequeued elements.
+	 * @param max       The maximum number of elements to dequeue.
+	 * @return  The number of elements dequeued.
+	 */
+	@SuppressWarnings("unchecked")
+	public int drainTo(Consumer<? super T> consumer, int max)
+	{
+		long h = head.getPlain();
+		long available = head.cache - h;
+		if (available < max)
+			available = (head.cache = tail.get()) - h;
+		int k = (int) Math.max(0, Math.min(available, max));
+
+		// free the slots taken, even if the consumer throws
+		int j = 0;
+		try
+		{
+			while (j < k)
+			{
+				int i = (int) (h + j++) & mask;
+				T x = (T) buffer[i];
+				buffer[i] = null;
+				consumer.accept(x);
+			}
+		}
+		finally
+		{
+			if (j > 0)
+				head.lazySet(h + j);
+		}
+		return k;
+	}
+
+	/**
+	 * This method returns the element at the front of the queue.
+	 *
+	 * @return  The front element (null if empty).
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T front()
+	{
+		long h = head.getPlain();
+		if ((h >= head.cache) && (h >= (head.cache = tail.get())))
+			return null;
+		return (T) buffer[(int) h & mask];
+	}
+
+	/**
+	 * This method returns the element at the back of the queue.
+	 *
+	 * @return  The back element (null if empty).
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T back()
+	{
+		long t = tail.get();
+		return (t > head.get()) ? (T) buffer[(int) (t - 1) & mask] : null;
+	}
+
+	/**
+	 * This method returns the current length of the queue.
+	 *
+	 * @return  The number of elements in the queue.
+	 */
+	@Override
+	public int length()
+	{
+		long h = head.get();
+		long t = tail.get();
+		return (int) Math.max(0, Math.min(t - h, mask + 1));
+	}
+
+	/**
+	 * This method returns the maximum capacity of the queue.
+	 *
+	 * @return  The capacity of the ring.
+	 */
+	@Override
+	public int maxLength()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * This method returns the empty status of the queue.
+	 *
+	 * @return  true if the queue has no elements, otherwise false.
+	 */
+	@Override
+	public boolean isEmpty()
+	{
+		return head.get() >= tail.get();
+	}
+
+	/**
+	 * This method clears the queue by dequeuing its elements.
+	 */
+	@Override
+	public void clear()
+	{
+		while (poll() != null)
+			;
+	}
+
+	/**
+	 * This method prints the contents of the queue, from front to back.
+	 */
+	@Override
+	public void print()
+	{
+		long t = tail.get();
+		for (long pos=head.get(); pos<t; pos++)
+		{
+			Object x = buffer[(int) pos & mask];
+			if (x != null)
+				System.out.print(x.toString() + " ");
+		}
+		System.out.println();
+	}
+}
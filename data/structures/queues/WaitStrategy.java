@@ -0,0 +1,38 @@
+package data.structures.queues;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The WaitStrategy enum selects how a thread blocked on a queue waits for
+ * it, trading the latency of noticing that the queue is ready against the
+ * CPU time spent waiting.
+ *
+ *  - SPIN busy-waits with a spin hint: the lowest latency, but it keeps a
+ *    core busy and needs a core per waiting thread.
+ *  - YIELD spins briefly, then yields the processor to other threads.
+ *  - PARK spins and yields briefly, then parks for PARK_NANOS at a time:
+ *    the least CPU, at a latency of up to the timer slack of the OS.
+ */
+public enum WaitStrategy
+{
+	SPIN, YIELD, PARK;
+
+	static final int SPINS = 64;			// spins before yielding
+	static final int YIELDS = 64;			// yields before parking
+	static final long PARK_NANOS = 50_000;	// the time parked per wait
+
+	/**
+	 * This method waits once for a blocked thread.
+	 *
+	 * @param spins The number of waits since the thread blocked.
+	 */
+	public void idle(int spins)
+	{
+		if ((this == SPIN) || (spins < SPINS))
+			Thread.onSpinWait();
+		else if ((this == YIELD) || (spins < SPINS + YIELDS))
+			Thread.yield();
+		else
+			LockSupport.parkNanos(PARK_NANOS);
+	}
+}
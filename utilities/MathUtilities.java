@@ -949,6 +949,8 @@ public class MathUtilities
 
     /* -- sorting arrays -- */
 
+    private static final int INSERTION_CUTOFF = 32;     // max range size for insertion sort
+
     /**
      * This method prints the integer array.
      *
@@ -994,29 +996,46 @@ public class MathUtilities
     }
 
     /**
-     * This method returns the sorted array by performing a quicksort on the
-     * specified array.
+     * This method sorts the array in place by performing a quicksort and
+     * returns the array.
      * <p>
-     * Worst-case performance: O(n^2) Best-case performance:  O(n*log(n))
-     * [simple] O(n)            [3-way and equal keys]
+     * Worst-case performance: O(n*log(n))     [introsort] Best-case
+     * performance:  O(n)            [3-way and equal keys]
      * <p>
      * Average performance:    O(n*log(n))
      * <p>
-     * Worst-case complexity:  O(n)            [auxiliary, naive] O(log(n))
-     * [auxiliary, Sedgewick 1978]
+     * Worst-case complexity:  O(log(n))       [auxiliary]
      *
      * @param array The array to be sorted.
      * @return The sorted array.
      */
     public static int[] quicksort(int[] array)
     {
-        if (array.length > 1)
-            quickStep(0, array.length-1, array);
+        return quicksort(array, 0, array.length);
+    }
+
+    /**
+     * This method sorts the range [from, to) of the array in place by a
+     * dual-pivot quicksort and returns the array. The two pivots are chosen
+     * from five samples, keys equal to the pivots are excluded from further
+     * steps, ranges below the cutoff are finished by insertion sort, and
+     * ranges that exceed the 2*log(n) depth limit fall back to a heapsort.
+     *
+     * @param array The array to be sorted.
+     * @param from  The start of the range to be sorted.
+     * @param to    The end of the range to be sorted.
+     * @return The sorted array.
+     */
+    public static int[] quicksort(int[] array, int from, int to)
+    {
+        if (isValidRange(array, from, to) && (to - from > 1))
+            quickStep(array, from, to - 1, 2 * (31 - Integer.numberOfLeadingZeros(to - from)));
         return array;
     }
 
     /**
-     * This method recursively performs the steps of quick sort.
+     * This method sorts the range [left, right] of the array in place by
+     * quicksort and returns the array.
      *
      * @param left  The left-side bound.
      * @param right The right-side bound.
@@ -1025,72 +1044,319 @@ public class MathUtilities
      */
     public static int[] quickStep(int left, int right, int[] array)
     {
-        if (left < right)
+        return quicksort(array, left, right + 1);
+    }
+
+    /**
+     * This method performs the steps of the dual-pivot quicksort on the
+     * range [left, right], recursing on the outer parts and looping on the
+     * middle part until the depth limit is reached.
+     */
+    private static void quickStep(int[] a, int left, int right, int depth)
+    {
+        while (right - left >= INSERTION_CUTOFF)
         {
-            int pivot = array[right];
-            int l     = left;
-            int r     = right - 1;
+            // fall back to heapsort once the depth limit is reached
+            if (depth-- == 0)
+            {
+                heapsort(a, left, right + 1);
+                return;
+            }
+
+            // sort five evenly spaced samples around the middle
+            int length = right - left + 1;
+            int seventh = (length >> 3) + (length >> 6) + 1;
+            int e3 = (left + right) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            sortSamples(a, e1, e2, e3, e4, e5);
+
+            int less = left;
+            int great = right;
 
-            while (l <= r)
+            if ((a[e1] != a[e2]) && (a[e2] != a[e3]) && (a[e3] != a[e4]) && (a[e4] != a[e5]))
             {
-                // scan right to find element larger than the pivot
-                while ((l <= r) && (array[l] <= pivot))
-                    l++;
+                // partition by the 2nd and 4th samples into < p1, [p1, p2], > p2
+                int p1 = a[e2];
+                int p2 = a[e4];
+                a[e2] = a[left];
+                a[e4] = a[right];
+
+                while (a[++less] < p1)
+                    ;
+                while (a[--great] > p2)
+                    ;
+
+                outer:
+                for (int k=less - 1; ++k <= great; )
+                {
+                    int ak = a[k];
+                    if (ak < p1)
+                    {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    }
+                    else if (ak > p2)
+                    {
+                        while (a[great] > p2)
+                            if (great-- == k)
+                                break outer;
+                        if (a[great] < p1)
+                        {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        }
+                        else
+                        {
+                            a[k] = a[great];
+                        }
+                        a[great--] = ak;
+                    }
+                }
+
+                // swap the pivots into their final positions
+                a[left] = a[less - 1];
+                a[less - 1] = p1;
+                a[right] = a[great + 1];
+                a[great + 1] = p2;
 
-                // scan left to find element smaller than the pivot
-                while ((l <= r) && (array[r] >= pivot))
-                    r--;
+                // recursive step the outer parts
+                quickStep(a, left, less - 2, depth);
+                quickStep(a, great + 2, right, depth);
+
+                // exclude keys equal to the pivots from a large middle part
+                if ((less < e1) && (e5 < great))
+                {
+                    while (a[less] == p1)
+                        less++;
+                    while (a[great] == p2)
+                        great--;
 
-                // swap elements if both found
-                if (l < r)
-                    swap(l, r, array);
+                    outer:
+                    for (int k=less - 1; ++k <= great; )
+                    {
+                        int ak = a[k];
+                        if (ak == p1)
+                        {
+                            a[k] = a[less];
+                            a[less++] = ak;
+                        }
+                        else if (ak == p2)
+                        {
+                            while (a[great] == p2)
+                                if (great-- == k)
+                                    break outer;
+                            if (a[great] == p1)
+                            {
+                                a[k] = a[less];
+                                a[less++] = p1;
+                            }
+                            else
+                            {
+                                a[k] = a[great];
+                            }
+                            a[great--] = ak;
+                        }
+                    }
+                }
+
+                // loop on the middle part
+                left = less;
+                right = great;
             }
+            else
+            {
+                // partition 3-way by the median sample into < p, = p, > p
+                int pivot = a[e3];
+                for (int k=less; k<=great; k++)
+                {
+                    int ak = a[k];
+                    if (ak == pivot)
+                        continue;
+                    if (ak < pivot)
+                    {
+                        a[k] = a[less];
+                        a[less++] = ak;
+                    }
+                    else
+                    {
+                        while (a[great] > pivot)
+                            great--;
+                        if (a[great] < pivot)
+                        {
+                            a[k] = a[less];
+                            a[less++] = a[great];
+                        }
+                        else
+                        {
+                            a[k] = pivot;
+                        }
+                        a[great--] = ak;
+                    }
+                }
 
-            // swap pivot with left element
-            swap(l, right, array);
+                // recursive step the smaller side and loop on the larger
+                if (less - left < right - great)
+                {
+                    quickStep(a, left, less - 1, depth);
+                    left = great + 1;
+                }
+                else
+                {
+                    quickStep(a, great + 1, right, depth);
+                    right = less - 1;
+                }
+            }
+        }
+        insertionSort(a, left, right + 1);
+    }
 
-            // recursive step each side of the pivot
-            quickStep(left, l-1, array);   // left to pivot step
-            quickStep(l+1, right, array);   // pivot to right step
+    /**
+     * This method sorts the values at the five sample positions in place by
+     * a sorting network of nine compare-exchanges.
+     */
+    private static void sortSamples(int[] a, int e1, int e2, int e3, int e4, int e5)
+    {
+        exchange(a, e1, e2);
+        exchange(a, e4, e5);
+        exchange(a, e3, e5);
+        exchange(a, e3, e4);
+        exchange(a, e1, e4);
+        exchange(a, e1, e3);
+        exchange(a, e2, e5);
+        exchange(a, e2, e4);
+        exchange(a, e2, e3);
+    }
+
+    /**
+     * This method swaps the values at positions i < j if they are out of
+     * order.
+     */
+    private static void exchange(int[] a, int i, int j)
+    {
+        int x = a[i];
+        int y = a[j];
+        if (y < x)
+        {
+            a[i] = y;
+            a[j] = x;
         }
-        return array;
     }
 
     /**
-     * This method returns the sorted array by performing a mergesort on the
-     * specified array.
+     * This method sorts the range [from, to) of the array in place by
+     * insertion sort.
+     */
+    private static void insertionSort(int[] a, int from, int to)
+    {
+        for (int i=from + 1; i<to; i++)
+        {
+            int value = a[i];
+            int j = i - 1;
+            while ((j >= from) && (value < a[j]))
+            {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = value;
+        }
+    }
+
+    /**
+     * This method sorts the array in place by performing a mergesort and
+     * returns the array.
      * <p>
-     * Worst-case performance: O(n*log(n)) Best-case performance:  O(n*log(n))
-     * [typical] O(n)            [natural variant]
+     * Worst-case performance: O(n*log(n)) Best-case performance:  O(n)
+     * [presorted halves skip merging]
      * <p>
      * Average performance:    O(n*log(n))
      * <p>
-     * Worst-case complexity:  O(n)            [total] O(n)
-     * [auxiliary] O(1)            [auxiliary, linked lists]
+     * Worst-case complexity:  O(n/2)          [auxiliary]
      *
      * @param array The array to be sorted.
      * @return The sorted array.
      */
     public static int[] mergesort(int[] array)
     {
-        if (array.length > 1)
+        return mergesort(array, 0, array.length);
+    }
+
+    /**
+     * This method sorts the range [from, to) of the array in place by
+     * performing a mergesort and returns the array, allocating a single
+     * buffer of half the range for every merge.
+     *
+     * @param array The array to be sorted.
+     * @param from  The start of the range to be sorted.
+     * @param to    The end of the range to be sorted.
+     * @return The sorted array.
+     */
+    public static int[] mergesort(int[] array, int from, int to)
+    {
+        if (isValidRange(array, from, to))
+            mergeStep(array, from, to, (to - from > INSERTION_CUTOFF) ? new int[(to - from) >>> 1] : null);
+        return array;
+    }
+
+    /**
+     * This method sorts the range [from, to) of the array in place by
+     * performing a mergesort through the buffer and returns the array, so
+     * that repeated sorts allocate nothing. The buffer must hold at least
+     * half of the range, and can be null for ranges up to 32 elements.
+     *
+     * @param array     The array to be sorted.
+     * @param from      The start of the range to be sorted.
+     * @param to        The end of the range to be sorted.
+     * @param buffer    The auxiliary buffer to merge through.
+     * @return The sorted array.
+     */
+    public static int[] mergesort(int[] array, int from, int to, int[] buffer)
+    {
+        if (!isValidRange(array, from, to))
+            return array;
+        if ((to - from > INSERTION_CUTOFF) && ((buffer == null) || (buffer.length < (to - from) >>> 1)))
         {
-            // get left and right sub-arrays
-            int[] a = new int[array.length/2];
-            System.arraycopy(array, 0, a, 0, a.length);
-            int[] b = new int[array.length - a.length];
-            System.arraycopy(array, a.length, b, 0, b.length);
-
-            // sort the sub-arrays
-            a = mergesort(a);
-            b = mergesort(b);
-
-            // merge the sorted sub arrays
-            return mergeStep(a, b);
+            System.out.printf("ERROR! Merge buffer is shorter than %d.\n", (to - from) >>> 1);
+            return array;
         }
+        mergeStep(array, from, to, buffer);
         return array;
     }
 
+    /**
+     * This method recursively performs the steps of mergesort on the range
+     * [lo, hi), merging the sorted halves by moving the left half into the
+     * buffer.
+     */
+    private static void mergeStep(int[] a, int lo, int hi, int[] buffer)
+    {
+        if (hi - lo <= INSERTION_CUTOFF)
+        {
+            insertionSort(a, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeStep(a, lo, mid, buffer);
+        mergeStep(a, mid, hi, buffer);
+
+        // skip the merge if the halves are already in order
+        if (a[mid - 1] <= a[mid])
+            return;
+
+        // merge the left half from the buffer with the right half in place
+        int n = mid - lo;
+        System.arraycopy(a, lo, buffer, 0, n);
+        int i = 0;
+        int j = mid;
+        int k = lo;
+        while ((i < n) && (j < hi))
+            a[k++] = (a[j] < buffer[i]) ? a[j++] : buffer[i++];
+        System.arraycopy(buffer, i, a, k, n - i);
+    }
+
     /**
      * This method merges the two specified arrays into a sorted array.
      *
@@ -1120,8 +1386,8 @@ public class MathUtilities
     }
 
     /**
-     * This method returns the sorted array by performing a heapsort on the
-     * specified array.
+     * This method sorts the array in place by performing a heapsort and
+     * returns the array.
      * <p>
      * Worst-case performance: O(n*log(n)) Best-case performance:  O(n*log(n))
      * [distinct keys] O(n)            [equal keys]
@@ -1135,18 +1401,35 @@ public class MathUtilities
      */
     public static int[] heapsort(int[] array)
     {
-        if (array.length > 1)
-        {
-            // build initial max heap
-            for (int i=array.length/2-1; i>=0; i--)
-                heapifyStep(array.length, i, array);
+        return heapsort(array, 0, array.length);
+    }
 
-            // extract elements (one-by-one) from heap
-            for (int i=array.length-1; i>=0; i--)
-            {
-                swap(i, 0, array);          // swap current and end
-                heapifyStep(i, 0, array); // heapify the reduced heap
-            }
+    /**
+     * This method sorts the range [from, to) of the array in place by
+     * performing an iterative heapsort and returns the array.
+     *
+     * @param array The array to be sorted.
+     * @param from  The start of the range to be sorted.
+     * @param to    The end of the range to be sorted.
+     * @return The sorted array.
+     */
+    public static int[] heapsort(int[] array, int from, int to)
+    {
+        if (!isValidRange(array, from, to))
+            return array;
+        int n = to - from;
+
+        // build initial max heap
+        for (int i=n/2 - 1; i>=0; i--)
+            siftDown(array, from, n, i);
+
+        // extract elements (one-by-one) from heap
+        for (int i=n - 1; i>0; i--)
+        {
+            int value = array[from + i];    // swap current root with end
+            array[from + i] = array[from];
+            array[from] = value;
+            siftDown(array, from, i, 0);    // heapify the reduced heap
         }
         return array;
     }
@@ -1162,23 +1445,45 @@ public class MathUtilities
      */
     public static int[] heapifyStep(int size, int pos, int[] array)
     {
-        int max = pos;
-        int l   = 2*pos + 1;
-        int r   = 2*pos + 2;
-
-        // update max position
-        if ((l < size) && (array[l] > array[max]))
-            max = l;
-        if ((r < size) && (array[r] > array[max]))
-            max = r;
-
-        // swap and heapify until max at root
-        if (max != pos)
+        siftDown(array, 0, size, pos);
+        return array;
+    }
+
+    /**
+     * This method sifts the value at the position down the heap of the
+     * specified size, rooted at lo, until the max heap property holds.
+     */
+    private static void siftDown(int[] a, int lo, int size, int pos)
+    {
+        int value = a[lo + pos];
+        int child;
+
+        while ((child = 2*pos + 1) < size)
         {
-            swap(max, pos, array);
-            heapifyStep(size, max, array);
+            // select the larger child
+            if ((child + 1 < size) && (a[lo + child] < a[lo + child + 1]))
+                child++;
+
+            // stop once the value is not smaller than the larger child
+            if (value >= a[lo + child])
+                break;
+
+            a[lo + pos] = a[lo + child];
+            pos = child;
         }
-        return array;
+        a[lo + pos] = value;
     }
-}
 
+    /**
+     * This method checks that [from, to) is a valid range of the array.
+     */
+    private static boolean isValidRange(int[] array, int from, int to)
+    {
+        if ((from < 0) || (to > array.length) || (from > to))
+        {
+            System.out.printf("ERROR! Invalid range [%d, %d) for length %d.\n", from, to, array.length);
+            return false;
+        }
+        return true;
+    }
+}